@@ -1,6 +1,7 @@
 plugins {
     id("java")
     id("maven-publish")
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "org.github.fastnoise"
@@ -19,11 +20,56 @@ dependencies {
     testImplementation("org.junit.jupiter:junit-jupiter")
 }
 
+// Writes "<sha256> <size>" next to every bundled native library, FastNoise names its cached copy after the hash
+// without reading the library on every start
+val nativeLibHashes by tasks.registering {
+    val natives = fileTree("src/main/resources") { include("**/FastNoise.*") }
+    val output = layout.buildDirectory.dir("generated/resources/native-hashes")
+    inputs.files(natives)
+    outputs.dir(output)
+    doLast {
+        natives.visit {
+            if (!isDirectory) {
+                val bytes = file.readBytes()
+                val hash = java.util.HexFormat.of().formatHex(java.security.MessageDigest.getInstance("SHA-256").digest(bytes))
+                val sidecar = output.get().file("$relativePath.sha256").asFile
+                sidecar.parentFile.mkdirs()
+                sidecar.writeText("$hash ${bytes.size}\n")
+            }
+        }
+    }
+}
+
+sourceSets.main {
+    resources.srcDir(nativeLibHashes)
+}
+
+// The Vector API kernels are compiled on their own, so only they need the incubator module and its warning.
+// NoiseKernels loads them by name when the module is present at runtime.
+val vector by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+}
+
+tasks.named<JavaCompile>(vector.compileJavaTaskName) {
+    options.compilerArgs.add("--add-modules=jdk.incubator.vector")
+}
+
+dependencies {
+    testRuntimeOnly(vector.output)
+    "jmhRuntimeOnly"(vector.output)
+}
+
+jmh {
+    jvmArgs.addAll("--enable-native-access=ALL-UNNAMED", "--add-modules=jdk.incubator.vector")
+    resultFormat.set("JSON")
+}
+
 tasks.wrapper {
     gradleVersion = "8.10.1"
 }
 
 tasks.jar {
+    from(vector.output)
     manifest {
         attributes(
             "Enable-Native-Access" to "ALL-UNNAMED"
@@ -33,7 +79,7 @@ tasks.jar {
 
 tasks.test {
     useJUnitPlatform()
-    jvmArgs("--enable-native-access=ALL-UNNAMED")
+    jvmArgs("--enable-native-access=ALL-UNNAMED", "--add-modules=jdk.incubator.vector")
 }
 
 publishing {
@@ -0,0 +1,33 @@
+package com.github.fastnoise;
+
+/**
+ * Node graphs shared by the benchmarks.
+ * <p>
+ * {@code Constant} is the empty-graph baseline: it does no noise work, so its score is the cost of the
+ * downcall, argument marshalling and writing the output. Subtract it from the score of the same benchmark
+ * and size on another graph to get the native compute time of that graph.
+ */
+final class BenchmarkGraphs {
+    static final String BASELINE = "Constant";
+
+    private BenchmarkGraphs() {
+    }
+
+    static FastNoise create(String graph) {
+        return switch (graph) {
+            case BASELINE -> new FastNoise("Constant");
+            case "Simplex" -> new FastNoise("Simplex");
+            case "FractalFBm" -> {
+                FastNoise fractal = new FastNoise("FractalFBm");
+                // The fractal holds its own reference to the source, only the returned root needs closing
+                try (FastNoise source = new FastNoise("Simplex")) {
+                    fractal.set("Source", source);
+                }
+                fractal.set("Gain", 0.3f);
+                fractal.set("Lacunarity", 0.6f);
+                yield fractal;
+            }
+            default -> throw new IllegalArgumentException("Unknown benchmark graph: " + graph);
+        };
+    }
+}
@@ -0,0 +1,64 @@
+package com.github.fastnoise;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FloatArrayBenchmark {
+    @Param({"4096", "65536", "1048576"})
+    public int size;
+
+    private FloatArray array;
+    private float[] heap;
+
+    @Setup
+    public void setup() {
+        array = new FloatArray(size);
+        heap = new float[size];
+        for (int i = 0; i < size; i++) {
+            array.set(i, i * 0.5f);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        array.close();
+    }
+
+    @Benchmark
+    public float get() {
+        float sum = 0;
+        for (int i = 0; i < array.size(); i++) {
+            sum += array.get(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public float iterate() {
+        float sum = 0;
+        for (float value : array) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public float forEachFloat() {
+        final float[] sum = new float[1];
+        array.forEachFloat(value -> sum[0] += value);
+        return sum[0];
+    }
+
+    @Benchmark
+    public float[] copyTo() {
+        array.copyTo(heap);
+        return heap;
+    }
+}
@@ -0,0 +1,48 @@
+package com.github.fastnoise;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GenSingleBenchmark {
+    @Param({BenchmarkGraphs.BASELINE, "Simplex", "FractalFBm"})
+    public String graph;
+
+    private FastNoise noise;
+    // Moves the sample point every call so the JIT cannot fold the coordinates
+    private float position;
+
+    @Setup
+    public void setup() {
+        noise = BenchmarkGraphs.create(graph);
+    }
+
+    @TearDown
+    public void tearDown() {
+        noise.close();
+    }
+
+    @Benchmark
+    public float genSingle2D() {
+        position += 0.37f;
+        return noise.genSingle2D(position, 2, 1337);
+    }
+
+    @Benchmark
+    public float genSingle3D() {
+        position += 0.37f;
+        return noise.genSingle3D(position, 2, 3, 1337);
+    }
+
+    @Benchmark
+    public float genSingle4D() {
+        position += 0.37f;
+        return noise.genSingle4D(position, 2, 3, 4, 1337);
+    }
+}
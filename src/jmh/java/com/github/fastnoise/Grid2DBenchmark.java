@@ -0,0 +1,56 @@
+package com.github.fastnoise;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class Grid2DBenchmark {
+    @Param({BenchmarkGraphs.BASELINE, "Simplex", "FractalFBm"})
+    public String graph;
+
+    @Param({"16", "64", "256", "1024"})
+    public int size;
+
+    private FastNoise noise;
+    private FloatArray noiseOut;
+    private final FastNoise.OutputMinMax minMax = new FastNoise.OutputMinMax();
+
+    @Setup
+    public void setup() {
+        noise = BenchmarkGraphs.create(graph);
+        noiseOut = new FloatArray(size * size);
+    }
+
+    @TearDown
+    public void tearDown() {
+        noiseOut.close();
+        noise.close();
+    }
+
+    @Benchmark
+    public FastNoise.OutputMinMax genUniformGrid2D() {
+        return noise.genUniformGrid2D(noiseOut, 0, 0, size, size, 0.02f, 1337);
+    }
+
+    @Benchmark
+    public FastNoise.OutputMinMax genUniformGrid2DReusedMinMax() {
+        noise.genUniformGrid2D(noiseOut, 0, 0, size, size, 0.02f, 1337, minMax);
+        return minMax;
+    }
+
+    @Benchmark
+    public void genUniformGrid2DNoMinMax() {
+        noise.genUniformGrid2D(noiseOut, 0, 0, size, size, 0.02f, 1337, null);
+    }
+
+    @Benchmark
+    public FastNoise.OutputMinMax genTileable2D() {
+        return noise.genTileable2D(noiseOut, size, size, 0.02f, 1337);
+    }
+}
@@ -0,0 +1,45 @@
+package com.github.fastnoise;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class Grid3DBenchmark {
+    @Param({BenchmarkGraphs.BASELINE, "Simplex", "FractalFBm"})
+    public String graph;
+
+    @Param({"4", "16", "32", "64"})
+    public int size;
+
+    private FastNoise noise;
+    private FloatArray noiseOut;
+
+    @Setup
+    public void setup() {
+        noise = BenchmarkGraphs.create(graph);
+        noiseOut = new FloatArray(size * size * size);
+    }
+
+    @TearDown
+    public void tearDown() {
+        noiseOut.close();
+        noise.close();
+    }
+
+    @Benchmark
+    public FastNoise.OutputMinMax genUniformGrid3D() {
+        return noise.genUniformGrid3D(noiseOut, 0, 0, 0, size, size, size, 0.02f, 1337);
+    }
+
+    @Benchmark
+    public FloatArray genInterpolatedGrid3D() {
+        noise.genInterpolatedGrid3D(noiseOut, 0, 0, 0, size, size, size, 4, 4, 4, 0.02f, 1337);
+        return noiseOut;
+    }
+}
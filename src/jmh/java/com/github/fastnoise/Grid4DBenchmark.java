@@ -0,0 +1,39 @@
+package com.github.fastnoise;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class Grid4DBenchmark {
+    @Param({BenchmarkGraphs.BASELINE, "Simplex", "FractalFBm"})
+    public String graph;
+
+    @Param({"2", "8", "16"})
+    public int size;
+
+    private FastNoise noise;
+    private FloatArray noiseOut;
+
+    @Setup
+    public void setup() {
+        noise = BenchmarkGraphs.create(graph);
+        noiseOut = new FloatArray(size * size * size * size);
+    }
+
+    @TearDown
+    public void tearDown() {
+        noiseOut.close();
+        noise.close();
+    }
+
+    @Benchmark
+    public FastNoise.OutputMinMax genUniformGrid4D() {
+        return noise.genUniformGrid4D(noiseOut, 0, 0, 0, 0, size, size, size, size, 0.02f, 1337);
+    }
+}
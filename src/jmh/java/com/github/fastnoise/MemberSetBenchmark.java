@@ -0,0 +1,84 @@
+package com.github.fastnoise;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MemberSetBenchmark {
+    private FastNoise fractal;
+    private FastNoise cellular;
+    private FastNoise source;
+    private float gain;
+    private NoiseMember.FloatMember gainMember;
+    private NoiseMember.IntMember distanceIndexMember;
+    private NoiseMember.EnumMember returnTypeMember;
+    private int returnTypeOrdinal;
+    private NoiseMember.NodeMember sourceMember;
+
+    @Setup
+    public void setup() {
+        fractal = new FastNoise("FractalFBm");
+        cellular = new FastNoise("CellularDistance");
+        source = new FastNoise("Simplex");
+        gainMember = fractal.floatMember("Gain");
+        distanceIndexMember = cellular.intMember("DistanceIndex0");
+        returnTypeMember = cellular.enumMember("ReturnType");
+        returnTypeOrdinal = returnTypeMember.ordinal("Index0Add1");
+        sourceMember = fractal.nodeMember("Source");
+    }
+
+    @TearDown
+    public void tearDown() {
+        fractal.close();
+        cellular.close();
+        source.close();
+    }
+
+    @Benchmark
+    public void setFloat() {
+        gain += 0.001f;
+        fractal.set("Gain", gain);
+    }
+
+    @Benchmark
+    public void setInt() {
+        cellular.set("DistanceIndex0", 2);
+    }
+
+    @Benchmark
+    public void setEnum() {
+        cellular.set("ReturnType", "Index0Add1");
+    }
+
+    @Benchmark
+    public void setNodeLookup() {
+        fractal.set("Source", source);
+    }
+
+    @Benchmark
+    public void setFloatHandle() {
+        gain += 0.001f;
+        gainMember.set(gain);
+    }
+
+    @Benchmark
+    public void setIntHandle() {
+        distanceIndexMember.set(2);
+    }
+
+    @Benchmark
+    public void setEnumHandle() {
+        returnTypeMember.set(returnTypeOrdinal);
+    }
+
+    @Benchmark
+    public void setNodeLookupHandle() {
+        sourceMember.set(source);
+    }
+}
@@ -0,0 +1,74 @@
+package com.github.fastnoise;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates from one frozen {@link NoiseGraph} on a growing number of threads. Scores are per call and per thread,
+ * without a global lock on the native side they stay close to the single-thread score until the cores run out.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NoiseGraphBenchmark {
+    private static final int SIZE = 32;
+
+    @State(Scope.Benchmark)
+    public static class Graph {
+        NoiseGraph graph;
+
+        @Setup
+        public void setup() {
+            try (FastNoise fractal = BenchmarkGraphs.create("FractalFBm")) {
+                graph = NoiseGraph.of(fractal);
+            }
+        }
+
+        @TearDown
+        public void tearDown() {
+            graph.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Output {
+        FloatArray noiseOut;
+
+        @Setup
+        public void setup() {
+            noiseOut = FloatArray.shared(SIZE * SIZE * SIZE);
+        }
+
+        @TearDown
+        public void tearDown() {
+            noiseOut.close();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void shared1(Graph graph, Output output) {
+        graph.graph.shared().genUniformGrid3D(output.noiseOut, 0, 0, 0, SIZE, SIZE, SIZE, 0.02f, 1337, null);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void shared4(Graph graph, Output output) {
+        graph.graph.shared().genUniformGrid3D(output.noiseOut, 0, 0, 0, SIZE, SIZE, SIZE, 0.02f, 1337, null);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void sharedMax(Graph graph, Output output) {
+        graph.graph.shared().genUniformGrid3D(output.noiseOut, 0, 0, 0, SIZE, SIZE, SIZE, 0.02f, 1337, null);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void localMax(Graph graph, Output output) {
+        graph.graph.local().genUniformGrid3D(output.noiseOut, 0, 0, 0, SIZE, SIZE, SIZE, 0.02f, 1337, null);
+    }
+}
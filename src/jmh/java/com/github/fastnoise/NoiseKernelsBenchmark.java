@@ -0,0 +1,61 @@
+package com.github.fastnoise;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NoiseKernelsBenchmark {
+    @Param({"4096", "1048576"})
+    public int size;
+
+    private final NoiseKernels.Kernels scalar = new ScalarKernels();
+    private final FastNoise.OutputMinMax minMax = new FastNoise.OutputMinMax(-1, 1);
+    private FloatArray src;
+    private FloatArray dst;
+
+    @Setup
+    public void setup() {
+        src = new FloatArray(size);
+        dst = new FloatArray(size);
+        try (FastNoise noise = new FastNoise("Simplex")) {
+            noise.genUniformGrid2D(src, 0, 0, size, 1, 0.02f, 1337, minMax);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        src.close();
+        dst.close();
+    }
+
+    @Benchmark
+    public FloatArray normalize() {
+        NoiseKernels.normalize(src, dst, minMax, 0, 255);
+        return dst;
+    }
+
+    @Benchmark
+    public FloatArray normalizeScalar() {
+        final float scale = 255 / (minMax.max - minMax.min);
+        scalar.affine(src.getSegment(), dst.getSegment(), size, scale, -minMax.min * scale);
+        return dst;
+    }
+
+    @Benchmark
+    public FloatArray threshold() {
+        NoiseKernels.threshold(src, dst, 0, 0, 1);
+        return dst;
+    }
+
+    @Benchmark
+    public FloatArray thresholdScalar() {
+        scalar.threshold(src.getSegment(), dst.getSegment(), size, 0, 0, 1);
+        return dst;
+    }
+}
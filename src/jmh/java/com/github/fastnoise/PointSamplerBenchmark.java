@@ -0,0 +1,57 @@
+package com.github.fastnoise;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@code genSingle3D} per point against batching the same points through {@link PointSampler}.
+ * Scores are per batch, the smallest batch size where {@code sampler} wins is the crossover point.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PointSamplerBenchmark {
+    @Param({BenchmarkGraphs.BASELINE, "FractalFBm"})
+    public String graph;
+
+    @Param({"1", "2", "4", "8", "16", "64", "256", "1024"})
+    public int batch;
+
+    private FastNoise noise;
+    private PointSampler sampler;
+    private float[] results;
+
+    @Setup
+    public void setup() {
+        noise = BenchmarkGraphs.create(graph);
+        sampler = new PointSampler(noise, 3, batch, 1337);
+        results = new float[batch];
+    }
+
+    @TearDown
+    public void tearDown() {
+        sampler.close();
+        noise.close();
+    }
+
+    @Benchmark
+    public float[] genSingle() {
+        for (int i = 0; i < batch; i++) {
+            results[i] = noise.genSingle3D(i * 0.37f, 2, 3, 1337);
+        }
+        return results;
+    }
+
+    @Benchmark
+    public float[] sampler() {
+        for (int i = 0; i < batch; i++) {
+            sampler.add(i * 0.37f, 2, 3);
+        }
+        sampler.flush(results, 0);
+        return results;
+    }
+}
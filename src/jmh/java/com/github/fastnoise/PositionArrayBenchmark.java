@@ -0,0 +1,71 @@
+package com.github.fastnoise;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PositionArrayBenchmark {
+    @Param({BenchmarkGraphs.BASELINE, "Simplex", "FractalFBm"})
+    public String graph;
+
+    @Param({"16", "256", "4096", "65536"})
+    public int count;
+
+    private FastNoise noise;
+    private FloatArray noiseOut;
+    private FloatArray xPos;
+    private FloatArray yPos;
+    private FloatArray zPos;
+    private FloatArray wPos;
+
+    @Setup
+    public void setup() {
+        noise = BenchmarkGraphs.create(graph);
+        noiseOut = new FloatArray(count);
+        xPos = randomPositions(1);
+        yPos = randomPositions(2);
+        zPos = randomPositions(3);
+        wPos = randomPositions(4);
+    }
+
+    private FloatArray randomPositions(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        float[] positions = new float[count];
+        for (int i = 0; i < count; i++) {
+            positions[i] = (float) random.nextDouble(-512, 512);
+        }
+        return new FloatArray(positions);
+    }
+
+    @TearDown
+    public void tearDown() {
+        noiseOut.close();
+        xPos.close();
+        yPos.close();
+        zPos.close();
+        wPos.close();
+        noise.close();
+    }
+
+    @Benchmark
+    public FastNoise.OutputMinMax genPositionArray2D() {
+        return noise.genPositionArray2D(noiseOut, xPos, yPos, 0, 0, 1337);
+    }
+
+    @Benchmark
+    public FastNoise.OutputMinMax genPositionArray3D() {
+        return noise.genPositionArray3D(noiseOut, xPos, yPos, zPos, 0, 0, 0, 1337);
+    }
+
+    @Benchmark
+    public FastNoise.OutputMinMax genPositionArray4D() {
+        return noise.genPositionArray4D(noiseOut, xPos, yPos, zPos, wPos, 0, 0, 0, 0, 1337);
+    }
+}
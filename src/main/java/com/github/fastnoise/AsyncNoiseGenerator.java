@@ -0,0 +1,113 @@
+package com.github.fastnoise;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs generation calls on a pool of platform threads and hands back {@link CompletableFuture}s.
+ * <p>
+ * A native downcall pins the carrier of a virtual thread for its whole duration. Virtual threads that wait on the
+ * returned future instead unmount and free their carrier, only the pool threads sit in native code. The default pool
+ * has one daemon thread per processor and is shared by every generator created with the no-argument constructor.
+ * Output buffers and position batches are written from a pool thread, so they must be shareable between threads,
+ * see {@link FloatArray.Scope}.
+ */
+public class AsyncNoiseGenerator implements AutoCloseable {
+    // Created on first use of the default constructor
+    private static final class DefaultPool {
+        private static final ExecutorService POOL = newPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    private final Executor executor;
+    private final boolean ownsExecutor;
+
+    public AsyncNoiseGenerator() {
+        this(DefaultPool.POOL, false);
+    }
+
+    // Owns a pool of the given number of platform threads, closing the generator shuts it down
+    public AsyncNoiseGenerator(int threads) {
+        this(newPool(threads), true);
+    }
+
+    public AsyncNoiseGenerator(Executor executor) {
+        this(executor, false);
+    }
+
+    private AsyncNoiseGenerator(Executor executor, boolean ownsExecutor) {
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    private static ExecutorService newPool(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive: " + threads);
+        }
+        final AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, task -> Thread.ofPlatform()
+                .name("fastnoise-native-" + counter.getAndIncrement())
+                .daemon(true)
+                .unstarted(task));
+    }
+
+    public CompletableFuture<NoiseResult> genUniformGrid2D(FastNoise noise, FloatArray noiseOut, int xStart, int yStart, int xSize, int ySize, float frequency, int seed) {
+        checkShareable(noiseOut);
+        return supply(noiseOut, minMax -> noise.genUniformGrid2D(noiseOut, xStart, yStart, xSize, ySize, frequency, seed, minMax));
+    }
+
+    public CompletableFuture<NoiseResult> genUniformGrid3D(FastNoise noise, FloatArray noiseOut, int xStart, int yStart, int zStart, int xSize, int ySize, int zSize, float frequency, int seed) {
+        checkShareable(noiseOut);
+        return supply(noiseOut, minMax -> noise.genUniformGrid3D(noiseOut, xStart, yStart, zStart, xSize, ySize, zSize, frequency, seed, minMax));
+    }
+
+    public CompletableFuture<NoiseResult> genUniformGrid4D(FastNoise noise, FloatArray noiseOut, int xStart, int yStart, int zStart, int wStart, int xSize, int ySize, int zSize, int wSize, float frequency, int seed) {
+        checkShareable(noiseOut);
+        return supply(noiseOut, minMax -> noise.genUniformGrid4D(noiseOut, xStart, yStart, zStart, wStart, xSize, ySize, zSize, wSize, frequency, seed, minMax));
+    }
+
+    public CompletableFuture<NoiseResult> genTileable2D(FastNoise noise, FloatArray noiseOut, int xSize, int ySize, float frequency, int seed) {
+        checkShareable(noiseOut);
+        return supply(noiseOut, minMax -> noise.genTileable2D(noiseOut, xSize, ySize, frequency, seed, minMax));
+    }
+
+    public CompletableFuture<NoiseResult> genPositionArray2D(FastNoise noise, FloatArray noiseOut, PositionBatch positions, float xOffset, float yOffset, int seed) {
+        checkShareable(noiseOut);
+        checkShareable(positions.x());
+        return supply(noiseOut, minMax -> noise.genPositionArray2D(noiseOut, positions, xOffset, yOffset, seed, minMax));
+    }
+
+    public CompletableFuture<NoiseResult> genPositionArray3D(FastNoise noise, FloatArray noiseOut, PositionBatch positions, float xOffset, float yOffset, float zOffset, int seed) {
+        checkShareable(noiseOut);
+        checkShareable(positions.x());
+        return supply(noiseOut, minMax -> noise.genPositionArray3D(noiseOut, positions, xOffset, yOffset, zOffset, seed, minMax));
+    }
+
+    public CompletableFuture<NoiseResult> genPositionArray4D(FastNoise noise, FloatArray noiseOut, PositionBatch positions, float xOffset, float yOffset, float zOffset, float wOffset, int seed) {
+        checkShareable(noiseOut);
+        checkShareable(positions.x());
+        return supply(noiseOut, minMax -> noise.genPositionArray4D(noiseOut, positions, xOffset, yOffset, zOffset, wOffset, seed, minMax));
+    }
+
+    private CompletableFuture<NoiseResult> supply(FloatArray noiseOut, Consumer<FastNoise.OutputMinMax> generator) {
+        return CompletableFuture.supplyAsync(() -> {
+            final FastNoise.OutputMinMax minMax = new FastNoise.OutputMinMax();
+            generator.accept(minMax);
+            return new NoiseResult(noiseOut, minMax);
+        }, executor);
+    }
+
+    private static void checkShareable(FloatArray array) {
+        if (!array.isShareable()) {
+            throw new IllegalArgumentException("Async generation needs FloatArrays that are shareable between threads");
+        }
+    }
+
+    // Shuts down the pool if this generator created it, pending calls still complete
+    @Override
+    public void close() {
+        if (ownsExecutor) {
+            ((ExecutorService) executor).shutdown();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.github.fastnoise;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+// Off-heap byte buffer holding quantized noise, see NoiseQuantizer
+public final class ByteArray extends QuantizedArray {
+    static final int MAX_UNSIGNED = 255;
+
+    public ByteArray(int size) {
+        this(size, Scope.CONFINED);
+    }
+
+    public ByteArray(int size, Scope scope) {
+        super(ValueLayout.JAVA_BYTE, size, scope);
+    }
+
+    public void set(int index, byte value) {
+        checkIndex(index);
+        segment.set(ValueLayout.JAVA_BYTE, index, value);
+    }
+
+    public byte get(int index) {
+        checkIndex(index);
+        return segment.get(ValueLayout.JAVA_BYTE, index);
+    }
+
+    // Quantized values are unsigned, 0 to 255
+    public int getUnsigned(int index) {
+        return get(index) & 0xFF;
+    }
+
+    public void copyTo(byte[] dst) {
+        MemorySegment.copy(segment, ValueLayout.JAVA_BYTE, 0, dst, 0, size);
+    }
+}
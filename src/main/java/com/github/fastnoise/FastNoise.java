@@ -5,29 +5,60 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.lang.foreign.*;
 import java.lang.invoke.MethodHandle;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 
 import static java.lang.foreign.ValueLayout.*;
 
 public class FastNoise implements AutoCloseable {
     public static class OutputMinMax {
-        public float min;
-        public float max;
+        public float min = Float.POSITIVE_INFINITY;
+        public float max = Float.NEGATIVE_INFINITY;
+
+        public OutputMinMax() {
+        }
+
+        public OutputMinMax(float min, float max) {
+            this.min = min;
+            this.max = max;
+        }
 
         public OutputMinMax(FloatArray nativeOutputMinMax) {
             min = nativeOutputMinMax.get(0);
             max = nativeOutputMinMax.get(1);
         }
 
+        // Resets to the empty range so the instance can be reused as a merge target
+        public void reset() {
+            min = Float.POSITIVE_INFINITY;
+            max = Float.NEGATIVE_INFINITY;
+        }
+
         public void merge(OutputMinMax other) {
             min = Math.min(min, other.min);
             max = Math.max(max, other.max);
         }
+
+        void read(MemorySegment nativeOutputMinMax) {
+            min = nativeOutputMinMax.getAtIndex(JAVA_FLOAT, 0);
+            max = nativeOutputMinMax.getAtIndex(JAVA_FLOAT, 1);
+        }
     }
 
     public static class Metadata {
@@ -77,6 +108,10 @@ public class FastNoise implements AutoCloseable {
             public Type type;
             public int index;
             public HashMap<String, Integer> enumNames;
+            // Position of the member in the per-node value arrays, members are numbered in name order
+            int slot;
+            // Enum value names by ordinal
+            String[] enumValues;
 
             public Member() {
                 enumNames = new HashMap<>();
@@ -86,6 +121,8 @@ public class FastNoise implements AutoCloseable {
         public int id;
         public String name;
         public HashMap<String, Member> members;
+        // Members by slot
+        Member[] slots;
 
         public Metadata() {
             members = new HashMap<>();
@@ -120,7 +157,12 @@ public class FastNoise implements AutoCloseable {
     private static final String ARCH = System.getProperty("os.arch").toLowerCase(Locale.ENGLISH);
     private static final String NATIVE_LIB_PATH = System.getProperty("fastnoise_lib_path", "");
     private static final AddressLayout C_POINTER = ValueLayout.ADDRESS.withTargetLayout(MemoryLayout.sequenceLayout(Long.MAX_VALUE, ValueLayout.JAVA_BYTE));
+    // Per-user directory shared by all JVMs for the extracted native library
+    private static final String NATIVE_CACHE_DIR = System.getProperty("fastnoise_cache_dir",
+            Path.of(System.getProperty("user.home"), ".cache", "fastnoise").toString());
     static Path nativeLibPath;
+    private static volatile SIMDLevel defaultSIMDLevel = parseSIMDLevel(System.getProperty("fastnoise_simd_level"));
+    private static String nativeLibHash;
 
     static final MethodHandle fnNewFromMetadata;
     static final MethodHandle fnNewFromEncodedNodeTree;
@@ -134,6 +176,13 @@ public class FastNoise implements AutoCloseable {
     static final MethodHandle fnGenPositionArray2D;
     static final MethodHandle fnGenPositionArray3D;
     static final MethodHandle fnGenPositionArray4D;
+    static final MethodHandle fnGenUniformGrid2DCritical;
+    static final MethodHandle fnGenUniformGrid3DCritical;
+    static final MethodHandle fnGenUniformGrid4DCritical;
+    static final MethodHandle fnGenTileable2DCritical;
+    static final MethodHandle fnGenPositionArray2DCritical;
+    static final MethodHandle fnGenPositionArray3DCritical;
+    static final MethodHandle fnGenPositionArray4DCritical;
     static final MethodHandle fnGenSingle2D;
     static final MethodHandle fnGenSingle3D;
     static final MethodHandle fnGenSingle4D;
@@ -158,33 +207,121 @@ public class FastNoise implements AutoCloseable {
     static final MethodHandle fnSetHybridFloat;
 
     private static void copyNativeLib(String path) {
+        final String ext = path.substring(path.lastIndexOf('.'));
         try {
-            InputStream nativeLib = FastNoise.class.getClassLoader().getResourceAsStream(path);
-            if (nativeLib == null) {
-                // in case the user is trying to load native library from an absolute path
-                Path libPath = Paths.get(path);
-                if (Files.exists(libPath) && Files.isRegularFile(libPath)) {
-                    nativeLib = new FileInputStream(path);
-                } else {
-                    throw new IllegalStateException("FastNoise Native library " + path + " not found.");
-                }
+            // The build ships "<sha256> <size>" next to each bundled library, so a cached copy can be found without
+            // reading the library. Libraries without the sidecar, such as a custom fastnoise_lib_path, are hashed.
+            final String[] sidecar = readHashSidecar(path + ".sha256");
+            byte[] bytes = null;
+            final long size;
+            if (sidecar != null) {
+                nativeLibHash = sidecar[0];
+                size = Long.parseLong(sidecar[1]);
+            } else {
+                bytes = readNativeLib(path);
+                nativeLibHash = sha256(bytes);
+                size = bytes.length;
             }
 
-            Path tempFile = createTemporaryNativeFilename(path.substring(path.lastIndexOf('.')));
-            Files.copy(nativeLib, tempFile, StandardCopyOption.REPLACE_EXISTING);
-            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
-                try {
-                    Files.deleteIfExists(tempFile);
-                } catch (IOException ignored) {
-                }
-            }));
+            final Path cacheDir = Path.of(NATIVE_CACHE_DIR);
+            final Path target = cacheDir.resolve("FastNoise-" + nativeLibHash + ext).toAbsolutePath();
+            if (isCachedCopy(target, size)) {
+                nativeLibPath = target;
+                return;
+            }
 
-            nativeLibPath = tempFile.toAbsolutePath();
+            if (bytes == null) {
+                bytes = readNativeLib(path);
+                if (bytes.length != size || !sha256(bytes).equals(nativeLibHash)) {
+                    throw new ExternalLibraryException("FastNoise Native library " + path + " does not match its hash");
+                }
+            }
+            try {
+                nativeLibPath = installCachedNativeLib(cacheDir, target, bytes);
+            } catch (IOException e) {
+                // The cache directory is not usable, fall back to a private copy
+                Path tempFile = createTemporaryNativeFilename(ext);
+                Files.write(tempFile, bytes);
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        Files.deleteIfExists(tempFile);
+                    } catch (IOException ignored) {
+                    }
+                }));
+                nativeLibPath = tempFile.toAbsolutePath();
+            }
         } catch (IOException e) {
             throw new ExternalLibraryException("Unable to copy natives", e);
         }
     }
 
+    // Opens a bundled resource, or a file in case the user is trying to load the native library from an absolute path
+    private static InputStream openNative(String path) throws IOException {
+        InputStream resource = FastNoise.class.getClassLoader().getResourceAsStream(path);
+        if (resource != null) {
+            return resource;
+        }
+        Path file = Paths.get(path);
+        return Files.isRegularFile(file) ? new FileInputStream(path) : null;
+    }
+
+    private static byte[] readNativeLib(String path) throws IOException {
+        final InputStream nativeLib = openNative(path);
+        if (nativeLib == null) {
+            throw new IllegalStateException("FastNoise Native library " + path + " not found.");
+        }
+        try (InputStream in = nativeLib) {
+            return in.readAllBytes();
+        }
+    }
+
+    // Returns the hash and byte size from a sidecar, or null if there is none
+    private static String[] readHashSidecar(String path) throws IOException {
+        final InputStream sidecar = openNative(path);
+        if (sidecar == null) {
+            return null;
+        }
+        try (InputStream in = sidecar) {
+            final String[] fields = new String(in.readAllBytes(), StandardCharsets.US_ASCII).trim().split("\\s+");
+            return fields.length == 2 ? fields : null;
+        }
+    }
+
+    // New copies are written to a temporary file and renamed into place, other JVMs never see a partially written
+    // library
+    private static Path installCachedNativeLib(Path cacheDir, Path target, byte[] bytes) throws IOException {
+        Files.createDirectories(cacheDir);
+        final Path temp = Files.createTempFile(cacheDir, "FastNoise-", ".tmp");
+        try {
+            Files.write(temp, bytes);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                // Another JVM may hold the library open (Windows cannot replace it then), use its copy if it is complete
+                if (!isCachedCopy(target, bytes.length)) {
+                    throw e;
+                }
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return target;
+    }
+
+    // Copies are named by content hash and only ever appear through an atomic rename, so a file under the name with
+    // the expected size is a complete copy of the library and is not read again
+    private static boolean isCachedCopy(Path file, long size) throws IOException {
+        return Files.isRegularFile(file) && Files.size(file) == size;
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new ExternalLibraryException("Unable to hash natives", e);
+        }
+    }
+
     private static Path createTemporaryNativeFilename(String ext) throws IOException {
         return Files.createTempFile("native-", ext);
     }
@@ -199,6 +336,11 @@ public class FastNoise implements AutoCloseable {
         }
     }
 
+    // SHA-256 of the loaded native library, identifies which metadata snapshot belongs to it
+    static String nativeLibHash() {
+        return nativeLibHash;
+    }
+
     static {
         String architecture = null;
         String os = null;
@@ -270,6 +412,17 @@ public class FastNoise implements AutoCloseable {
                         JAVA_FLOAT, JAVA_INT, C_POINTER)
         );
 
+        // Critical variants accept heap segments, they are only used when an argument is backed by a Java array
+        // since they keep the GC from running until the native call returns
+        fnGenUniformGrid2DCritical = linker.downcallHandle(
+                lookup.find("fnGenUniformGrid2D").orElseThrow(),
+                FunctionDescriptor.of(JAVA_INT, C_POINTER, C_POINTER,
+                        JAVA_INT, JAVA_INT,
+                        JAVA_INT, JAVA_INT,
+                        JAVA_FLOAT, JAVA_INT, C_POINTER),
+                Linker.Option.critical(true)
+        );
+
         fnGenUniformGrid3D = linker.downcallHandle(
                 lookup.find("fnGenUniformGrid3D").orElseThrow(),
                 FunctionDescriptor.of(JAVA_INT, C_POINTER, C_POINTER,
@@ -278,6 +431,15 @@ public class FastNoise implements AutoCloseable {
                         JAVA_FLOAT, JAVA_INT, C_POINTER)
         );
 
+        fnGenUniformGrid3DCritical = linker.downcallHandle(
+                lookup.find("fnGenUniformGrid3D").orElseThrow(),
+                FunctionDescriptor.of(JAVA_INT, C_POINTER, C_POINTER,
+                        JAVA_INT, JAVA_INT, JAVA_INT,
+                        JAVA_INT, JAVA_INT, JAVA_INT,
+                        JAVA_FLOAT, JAVA_INT, C_POINTER),
+                Linker.Option.critical(true)
+        );
+
         fnGenUniformGrid4D = linker.downcallHandle(
                 lookup.find("fnGenUniformGrid4D").orElseThrow(),
                 FunctionDescriptor.of(JAVA_INT, C_POINTER, C_POINTER,
@@ -286,6 +448,15 @@ public class FastNoise implements AutoCloseable {
                         JAVA_FLOAT, JAVA_INT, C_POINTER)
         );
 
+        fnGenUniformGrid4DCritical = linker.downcallHandle(
+                lookup.find("fnGenUniformGrid4D").orElseThrow(),
+                FunctionDescriptor.of(JAVA_INT, C_POINTER, C_POINTER,
+                        JAVA_INT, JAVA_INT, JAVA_INT, JAVA_INT,
+                        JAVA_INT, JAVA_INT, JAVA_INT, JAVA_INT,
+                        JAVA_FLOAT, JAVA_INT, C_POINTER),
+                Linker.Option.critical(true)
+        );
+
         fnGenTileable2D = linker.downcallHandle(
                 lookup.find("fnGenTileable2D").orElseThrow(),
                 FunctionDescriptor.ofVoid(C_POINTER, C_POINTER,
@@ -293,6 +464,14 @@ public class FastNoise implements AutoCloseable {
                         JAVA_FLOAT, JAVA_INT, C_POINTER)
         );
 
+        fnGenTileable2DCritical = linker.downcallHandle(
+                lookup.find("fnGenTileable2D").orElseThrow(),
+                FunctionDescriptor.ofVoid(C_POINTER, C_POINTER,
+                        JAVA_INT, JAVA_INT,
+                        JAVA_FLOAT, JAVA_INT, C_POINTER),
+                Linker.Option.critical(true)
+        );
+
         fnGenPositionArray2D = linker.downcallHandle(
                 lookup.find("fnGenPositionArray2D").orElseThrow(),
                 FunctionDescriptor.ofVoid(C_POINTER, C_POINTER, JAVA_INT,
@@ -301,6 +480,15 @@ public class FastNoise implements AutoCloseable {
                         JAVA_INT, C_POINTER)
         );
 
+        fnGenPositionArray2DCritical = linker.downcallHandle(
+                lookup.find("fnGenPositionArray2D").orElseThrow(),
+                FunctionDescriptor.ofVoid(C_POINTER, C_POINTER, JAVA_INT,
+                        C_POINTER, C_POINTER,
+                        JAVA_FLOAT, JAVA_FLOAT,
+                        JAVA_INT, C_POINTER),
+                Linker.Option.critical(true)
+        );
+
         fnGenPositionArray3D = linker.downcallHandle(
                 lookup.find("fnGenPositionArray3D").orElseThrow(),
                 FunctionDescriptor.ofVoid(C_POINTER, C_POINTER, JAVA_INT,
@@ -309,6 +497,15 @@ public class FastNoise implements AutoCloseable {
                         JAVA_INT, C_POINTER)
         );
 
+        fnGenPositionArray3DCritical = linker.downcallHandle(
+                lookup.find("fnGenPositionArray3D").orElseThrow(),
+                FunctionDescriptor.ofVoid(C_POINTER, C_POINTER, JAVA_INT,
+                        C_POINTER, C_POINTER, C_POINTER,
+                        JAVA_FLOAT, JAVA_FLOAT, JAVA_FLOAT,
+                        JAVA_INT, C_POINTER),
+                Linker.Option.critical(true)
+        );
+
         fnGenPositionArray4D = linker.downcallHandle(
                 lookup.find("fnGenPositionArray4D").orElseThrow(),
                 FunctionDescriptor.ofVoid(C_POINTER, C_POINTER, JAVA_INT,
@@ -317,6 +514,15 @@ public class FastNoise implements AutoCloseable {
                         JAVA_INT, C_POINTER)
         );
 
+        fnGenPositionArray4DCritical = linker.downcallHandle(
+                lookup.find("fnGenPositionArray4D").orElseThrow(),
+                FunctionDescriptor.ofVoid(C_POINTER, C_POINTER, JAVA_INT,
+                        C_POINTER, C_POINTER, C_POINTER, C_POINTER,
+                        JAVA_FLOAT, JAVA_FLOAT, JAVA_FLOAT, JAVA_FLOAT,
+                        JAVA_INT, C_POINTER),
+                Linker.Option.critical(true)
+        );
+
         fnGenSingle2D = linker.downcallHandle(
                 lookup.find("fnGenSingle2D").orElseThrow(),
                 FunctionDescriptor.of(JAVA_FLOAT, C_POINTER, JAVA_FLOAT, JAVA_FLOAT, JAVA_INT)
@@ -428,43 +634,171 @@ public class FastNoise implements AutoCloseable {
         );
     }
 
-    private static final Metadata[] nodeMetadata;
-    private static final HashMap<String, Integer> metadataNameLookup;
+    // Per-thread native buffer the generators write min/max into, so a call does not need its own arena
+    private static final ThreadLocal<MemorySegment> minMaxScratch = ThreadLocal.withInitial(() -> Arena.ofAuto().allocate(JAVA_FLOAT, 2));
     private final MemorySegment mNodeHandle;
     private final int mMetadataId;
+    // Encoded node tree this node was created from, null when created from metadata
+    private final String mEncodedNodeTree;
+    // Every member value set on this node by member slot, used to describe the graph. Float values are stored as raw
+    // bits and enums as ordinals, so recording a value neither boxes it nor looks up its name.
+    private final boolean[] mMemberSet;
+    private final int[] mMemberBits;
+    private final FastNoise[] mMemberNodes;
+    // Nodes that reference this node through a node lookup, setting a member here changes their graph too
+    private final List<FastNoise> mParents = new ArrayList<>(1);
+    // Bumped whenever a member of this node or of a node it references is set
+    private int mVersion;
+    private GraphKey mGraphKey;
+    private SIMDLevel mSIMDLevel;
+    private boolean mFrozen;
 
     public FastNoise(String metadataName) {
-        Integer metadataId = metadataNameLookup.get(formatLookup(metadataName));
+        this(metadataName, defaultSIMDLevel);
+    }
+
+    // All nodes of one graph must be created with the same level, the native side refuses to link nodes across levels
+    public FastNoise(String metadataName, SIMDLevel simdLevel) {
+        Integer metadataId = MetadataRegistry.lookup(formatLookup(metadataName));
         if (metadataId == null) {
             throw new IllegalArgumentException("Failed to find metadata name: " + metadataName);
         }
         mMetadataId = metadataId;
+        mEncodedNodeTree = null;
+        final int slotCount = MetadataRegistry.get(mMetadataId).slots.length;
+        mMemberSet = new boolean[slotCount];
+        mMemberBits = new int[slotCount];
+        mMemberNodes = new FastNoise[slotCount];
 
         try {
-            mNodeHandle = fnNewFromMetadata(mMetadataId, (short) 0);
+            mNodeHandle = fnNewFromMetadata(mMetadataId, simdLevel.value());
         } catch (Throwable e) {
             throw new ExternalLibraryException(e);
         }
     }
 
-    private FastNoise(MemorySegment nodeHandle) {
+    private FastNoise(MemorySegment nodeHandle, String encodedNodeTree) {
         mNodeHandle = nodeHandle;
         mMetadataId = fnGetMetadataID(mNodeHandle);
+        mEncodedNodeTree = encodedNodeTree;
+        final int slotCount = MetadataRegistry.get(mMetadataId).slots.length;
+        mMemberSet = new boolean[slotCount];
+        mMemberBits = new int[slotCount];
+        mMemberNodes = new FastNoise[slotCount];
     }
 
     @Override
     public void close() {
+        if (mFrozen) {
+            throw new IllegalStateException("Node belongs to a NoiseGraph, close the graph instead");
+        }
+        release();
+    }
+
+    void release() {
+        for (FastNoise node : mMemberNodes) {
+            if (node != null) {
+                node.unlinkParent(this);
+            }
+        }
         fnDeleteNodeRef(mNodeHandle);
     }
 
+    // Writes the node metadata of the loaded native library to directory. Point the fastnoise_metadata_path property
+    // at the directory, or ship the file on the classpath under fastnoise-metadata/, to skip enumerating the metadata
+    // through the native library on startup.
+    public static Path saveMetadataSnapshot(Path directory) throws IOException {
+        return MetadataRegistry.writeSnapshot(directory);
+    }
+
     public static FastNoise fromEncodedNodeTree(String encodedNodeTree) {
-        MemorySegment nodeHandle = fnNewFromEncodedNodeTree(encodedNodeTree, 0);
+        return fromEncodedNodeTree(encodedNodeTree, defaultSIMDLevel);
+    }
+
+    public static FastNoise fromEncodedNodeTree(String encodedNodeTree, SIMDLevel simdLevel) {
+        MemorySegment nodeHandle = fnNewFromEncodedNodeTree(encodedNodeTree, simdLevel.value());
 
         if (nodeHandle.equals(MemorySegment.NULL)) {
             return null;
         }
 
-        return new FastNoise(nodeHandle);
+        return new FastNoise(nodeHandle, encodedNodeTree);
+    }
+
+    // Level used by constructors and fromEncodedNodeTree when none is given, AUTO unless the fastnoise_simd_level
+    // property names another level
+    public static SIMDLevel getDefaultSIMDLevel() {
+        return defaultSIMDLevel;
+    }
+
+    public static void setDefaultSIMDLevel(SIMDLevel simdLevel) {
+        defaultSIMDLevel = Objects.requireNonNull(simdLevel);
+    }
+
+    // Runs in the static initializer, where throwing would make the class unusable for the rest of the JVM's life,
+    // so an unknown level is reported and AUTO is used instead
+    static SIMDLevel parseSIMDLevel(String property) {
+        if (property == null || property.isBlank()) {
+            return SIMDLevel.AUTO;
+        }
+        try {
+            return SIMDLevel.valueOf(property.strip().toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            System.getLogger(FastNoise.class.getName()).log(System.Logger.Level.WARNING,
+                    "Unknown fastnoise_simd_level \"{0}\", using AUTO. Known levels: {1}", property, Arrays.toString(SIMDLevel.values()));
+            return SIMDLevel.AUTO;
+        }
+    }
+
+    // Times the graph built by graphFactory at every level the library supports on this CPU and returns the fastest.
+    // Wide vectors are not always a win, some CPUs lower their clock while running AVX-512. Pass the result to
+    // setDefaultSIMDLevel to keep it for nodes created afterwards.
+    public static SIMDLevel probeSIMDLevel(Function<SIMDLevel, FastNoise> graphFactory) {
+        final int size = 32;
+        final SIMDLevel[] levels = SIMDLevel.values();
+        final EnumSet<SIMDLevel> probed = EnumSet.noneOf(SIMDLevel.class);
+        SIMDLevel fastest = SIMDLevel.AUTO;
+        long fastestTime = Long.MAX_VALUE;
+
+        try (FloatArray noiseOut = new FloatArray(size * size * size)) {
+            // Walk from the widest level down, each level caps the one the library picks
+            for (int i = levels.length - 1; i > 0; i--) {
+                final FastNoise graph = graphFactory.apply(levels[i]);
+                if (graph == null) {
+                    continue;
+                }
+                try {
+                    final SIMDLevel actual = graph.simdLevel();
+                    if (!probed.add(actual)) {
+                        continue;
+                    }
+                    long best = Long.MAX_VALUE;
+                    for (int run = 0; run < 8; run++) {
+                        final long start = System.nanoTime();
+                        graph.genUniformGrid3D(noiseOut, 0, 0, 0, size, size, size, 0.02f, 1337, null);
+                        // The first runs warm up caches and the downcall path
+                        if (run >= 3) {
+                            best = Math.min(best, System.nanoTime() - start);
+                        }
+                    }
+                    if (best < fastestTime) {
+                        fastestTime = best;
+                        fastest = actual;
+                    }
+                } finally {
+                    graph.close();
+                }
+            }
+        }
+        return fastest;
+    }
+
+    public static SIMDLevel probeSIMDLevel(String encodedNodeTree) {
+        return probeSIMDLevel(level -> fromEncodedNodeTree(encodedNodeTree, level));
+    }
+
+    public SIMDLevel simdLevel() {
+        return SIMDLevel.fromValue(getSIMDLevel());
     }
 
     public int getSIMDLevel() {
@@ -476,6 +810,7 @@ public class FastNoise implements AutoCloseable {
     }
 
     public void set(String memberName, float value) {
+        checkMutable();
         final Metadata.Member member = getMember(memberName);
         switch (member.type) {
             case Float -> {
@@ -490,9 +825,11 @@ public class FastNoise implements AutoCloseable {
             }
             default -> throw new IllegalArgumentException(memberName + " cannot be set to a float value");
         }
+        recordValue(member.slot, Float.floatToRawIntBits(value));
     }
 
     public void set(String memberName, int value) {
+        checkMutable();
         final Metadata.Member member = getMember(memberName);
         if (member.type != Metadata.Member.Type.Int) {
             throw new IllegalArgumentException(memberName + " cannot be set to an int value");
@@ -501,9 +838,11 @@ public class FastNoise implements AutoCloseable {
         if (!fnSetVariableIntEnum(mNodeHandle, member.index, value)) {
             throw new ExternalLibraryException("Failed to set int value");
         }
+        recordValue(member.slot, value);
     }
 
     public void set(String memberName, String enumValue) {
+        checkMutable();
         final Metadata.Member member = getMember(memberName);
         if (member.type != Metadata.Member.Type.Enum) {
             throw new IllegalArgumentException(memberName + " cannot be set to an enum value");
@@ -515,9 +854,11 @@ public class FastNoise implements AutoCloseable {
         if (!fnSetVariableIntEnum(mNodeHandle, member.index, enumIdx)) {
             throw new ExternalLibraryException("Failed to set enum value");
         }
+        recordValue(member.slot, enumIdx);
     }
 
     public void set(String memberName, FastNoise nodeLookup) {
+        checkMutable();
         final Metadata.Member member = getMember(memberName);
         switch (member.type) {
             case NodeLookup -> {
@@ -532,156 +873,647 @@ public class FastNoise implements AutoCloseable {
             }
             default -> throw new IllegalArgumentException(memberName + " cannot be set to a node lookup");
         }
+        recordNode(member.slot, nodeLookup);
+    }
+
+    // Resolves a member once, setting values through the returned handle skips the name lookup
+    public NoiseMember member(String memberName) {
+        return NoiseMember.of(this, getMember(memberName));
+    }
+
+    public NoiseMember.FloatMember floatMember(String memberName) {
+        if (member(memberName) instanceof NoiseMember.FloatMember member) {
+            return member;
+        }
+        throw new IllegalArgumentException(memberName + " cannot be set to a float value");
+    }
+
+    public NoiseMember.IntMember intMember(String memberName) {
+        if (member(memberName) instanceof NoiseMember.IntMember member) {
+            return member;
+        }
+        throw new IllegalArgumentException(memberName + " cannot be set to an int value");
+    }
+
+    public NoiseMember.EnumMember enumMember(String memberName) {
+        if (member(memberName) instanceof NoiseMember.EnumMember member) {
+            return member;
+        }
+        throw new IllegalArgumentException(memberName + " cannot be set to an enum value");
+    }
+
+    public NoiseMember.NodeMember nodeMember(String memberName) {
+        final Metadata.Member member = getMember(memberName);
+        return switch (member.type) {
+            case NodeLookup -> new NoiseMember.NodeMember(this, member, false);
+            case Hybrid -> new NoiseMember.NodeMember(this, member, true);
+            default -> throw new IllegalArgumentException(memberName + " cannot be set to a node lookup");
+        };
+    }
+
+    MemorySegment nodeHandle() {
+        return mNodeHandle;
+    }
+
+    int metadataId() {
+        return mMetadataId;
+    }
+
+    // Null unless the node was created by fromEncodedNodeTree
+    String encodedNodeTree() {
+        return mEncodedNodeTree;
+    }
+
+    // Member values set on this node by member name in name order, boxed as Float, Integer, String (enums) or FastNoise
+    Map<String, Object> memberValues() {
+        final Map<String, Object> values = new LinkedHashMap<>();
+        for (Metadata.Member member : MetadataRegistry.get(mMetadataId).slots) {
+            if (mMemberSet[member.slot]) {
+                values.put(member.name, memberValue(member));
+            }
+        }
+        return values;
+    }
+
+    private Object memberValue(Metadata.Member member) {
+        final FastNoise node = mMemberNodes[member.slot];
+        if (node != null) {
+            return node;
+        }
+        final int bits = mMemberBits[member.slot];
+        return switch (member.type) {
+            case Int -> bits;
+            case Enum -> member.enumValues[bits];
+            default -> Float.intBitsToFloat(bits);
+        };
+    }
+
+    // Nodes owned by a NoiseGraph are frozen, other threads may be generating from them
+    void freeze() {
+        mFrozen = true;
+    }
+
+    void checkMutable() {
+        if (mFrozen) {
+            throw new IllegalStateException("Node belongs to a NoiseGraph and cannot be modified");
+        }
+    }
+
+    // Records a float (as raw bits), int or enum ordinal value
+    void recordValue(int slot, int bits) {
+        unlinkMemberNode(slot);
+        mMemberBits[slot] = bits;
+        mMemberSet[slot] = true;
+        bumpVersion();
+    }
+
+    void recordNode(int slot, FastNoise node) {
+        unlinkMemberNode(slot);
+        mMemberNodes[slot] = node;
+        // Frozen nodes never change and may be linked from several threads, they do not track their parents
+        if (!node.mFrozen) {
+            node.mParents.add(this);
+        }
+        mMemberSet[slot] = true;
+        bumpVersion();
+    }
+
+    private void unlinkMemberNode(int slot) {
+        final FastNoise previous = mMemberNodes[slot];
+        if (previous != null) {
+            previous.unlinkParent(this);
+            mMemberNodes[slot] = null;
+        }
+    }
+
+    private void unlinkParent(FastNoise parent) {
+        if (!mFrozen) {
+            mParents.remove(parent);
+        }
+    }
+
+    private void bumpVersion() {
+        mVersion++;
+        for (FastNoise parent : mParents) {
+            parent.bumpVersion();
+        }
+    }
+
+    // A graph key together with the version of the node it was built at
+    private record GraphKey(int version, String key) {
+    }
+
+    // Canonical description of the node graph rooted at this node. Two graphs with the same key generate the same
+    // noise, the key changes whenever a member of any node in the graph is set. The key is built once per version,
+    // so lookups on an unchanged graph return the same String instance without walking the graph.
+    String graphKey() {
+        final int version = mVersion;
+        final GraphKey cached = mGraphKey;
+        if (cached != null && cached.version == version) {
+            return cached.key;
+        }
+        final StringBuilder key = new StringBuilder();
+        appendGraphKey(key);
+        final String graphKey = key.toString();
+        mGraphKey = new GraphKey(version, graphKey);
+        return graphKey;
+    }
+
+    private void appendGraphKey(StringBuilder key) {
+        final Metadata metadata = MetadataRegistry.get(mMetadataId);
+        if (mEncodedNodeTree != null) {
+            key.append('#').append(mEncodedNodeTree);
+        } else {
+            key.append(metadata.name);
+        }
+        key.append('{');
+        boolean first = true;
+        for (Metadata.Member member : metadata.slots) {
+            if (!mMemberSet[member.slot]) {
+                continue;
+            }
+            if (!first) {
+                key.append(',');
+            }
+            first = false;
+            key.append(member.name).append('=');
+            final Object value = memberValue(member);
+            key.append(value instanceof FastNoise node ? node.graphKey() : value);
+        }
+        key.append('}');
     }
 
     public OutputMinMax genUniformGrid2D(FloatArray noiseOut, int xStart, int yStart, int xSize, int ySize, float frequency, int seed) {
-        final var minMax = new FloatArray(2);
-        fnGenUniformGrid2D(mNodeHandle, noiseOut, xStart, yStart, xSize, ySize, frequency, seed, minMax);
-        return new OutputMinMax(minMax);
+        final OutputMinMax minMax = new OutputMinMax();
+        genUniformGrid2D(noiseOut.getSegment(), xStart, yStart, xSize, ySize, frequency, seed, minMax);
+        return minMax;
+    }
+
+    // Writes the output range into outputMinMax. With a null outputMinMax the range is not read back, the native side
+    // still computes it, so this saves the copy and the result object but not generation time
+    public void genUniformGrid2D(FloatArray noiseOut, int xStart, int yStart, int xSize, int ySize, float frequency, int seed, OutputMinMax outputMinMax) {
+        genUniformGrid2D(noiseOut.getSegment(), xStart, yStart, xSize, ySize, frequency, seed, outputMinMax);
     }
 
     public OutputMinMax genUniformGrid3D(FloatArray noiseOut, int xStart, int yStart, int zStart, int xSize, int ySize, int zSize, float frequency, int seed) {
-        final FloatArray minMax = new FloatArray(2);
-        fnGenUniformGrid3D(mNodeHandle, noiseOut, xStart, yStart, zStart, xSize, ySize, zSize, frequency, seed, minMax);
-        return new OutputMinMax(minMax);
+        final OutputMinMax minMax = new OutputMinMax();
+        genUniformGrid3D(noiseOut.getSegment(), xStart, yStart, zStart, xSize, ySize, zSize, frequency, seed, minMax);
+        return minMax;
+    }
+
+    public void genUniformGrid3D(FloatArray noiseOut, int xStart, int yStart, int zStart, int xSize, int ySize, int zSize, float frequency, int seed, OutputMinMax outputMinMax) {
+        genUniformGrid3D(noiseOut.getSegment(), xStart, yStart, zStart, xSize, ySize, zSize, frequency, seed, outputMinMax);
     }
 
     public OutputMinMax genUniformGrid4D(FloatArray noiseOut, int xStart, int yStart, int zStart, int wStart, int xSize, int ySize, int zSize, int wSize, float frequency, int seed) {
-        final FloatArray minMax = new FloatArray(2);
-        fnGenUniformGrid4D(mNodeHandle, noiseOut, xStart, yStart, zStart, wStart, xSize, ySize, zSize, wSize, frequency, seed, minMax);
-        return new OutputMinMax(minMax);
+        final OutputMinMax minMax = new OutputMinMax();
+        genUniformGrid4D(noiseOut.getSegment(), xStart, yStart, zStart, wStart, xSize, ySize, zSize, wSize, frequency, seed, minMax);
+        return minMax;
+    }
+
+    public void genUniformGrid4D(FloatArray noiseOut, int xStart, int yStart, int zStart, int wStart, int xSize, int ySize, int zSize, int wSize, float frequency, int seed, OutputMinMax outputMinMax) {
+        genUniformGrid4D(noiseOut.getSegment(), xStart, yStart, zStart, wStart, xSize, ySize, zSize, wSize, frequency, seed, outputMinMax);
     }
 
     public OutputMinMax genTileable2D(FloatArray noiseOut, int xSize, int ySize, float frequency, int seed) {
-        final FloatArray minMax = new FloatArray(2);
-        fnGenTileable2D(mNodeHandle, noiseOut, xSize, ySize, frequency, seed, minMax);
-        return new OutputMinMax(minMax);
+        final OutputMinMax minMax = new OutputMinMax();
+        genTileable2D(noiseOut.getSegment(), xSize, ySize, frequency, seed, minMax);
+        return minMax;
+    }
+
+    public void genTileable2D(FloatArray noiseOut, int xSize, int ySize, float frequency, int seed, OutputMinMax outputMinMax) {
+        genTileable2D(noiseOut.getSegment(), xSize, ySize, frequency, seed, outputMinMax);
+    }
+
+    // Samples every xStride-th/yStride-th point of the grid and interpolates the points in between. The result matches
+    // genUniformGrid2D on the lattice points; elsewhere it is a bilinear approximation for a fraction of the native work.
+    public void genInterpolatedGrid2D(FloatArray noiseOut, int xStart, int yStart, int xSize, int ySize, int xStride, int yStride, float frequency, int seed) {
+        InterpolatedGrid.genInterpolatedGrid2D(this, noiseOut, xStart, yStart, xSize, ySize, xStride, yStride, frequency, seed);
+    }
+
+    // Trilinear counterpart of genInterpolatedGrid2D, a stride of 4 on every axis cuts the native work about 64x
+    public void genInterpolatedGrid3D(FloatArray noiseOut, int xStart, int yStart, int zStart, int xSize, int ySize, int zSize, int xStride, int yStride, int zStride, float frequency, int seed) {
+        InterpolatedGrid.genInterpolatedGrid3D(this, noiseOut, xStart, yStart, zStart, xSize, ySize, zSize, xStride, yStride, zStride, frequency, seed);
     }
 
     public OutputMinMax genPositionArray2D(FloatArray noiseOut, FloatArray xPosArray, FloatArray yPosArray, float xOffset, float yOffset, int seed) {
-        final FloatArray minMax = new FloatArray(2);
-        fnGenPositionArray2D(mNodeHandle, noiseOut, xPosArray.size(), xPosArray, yPosArray, xOffset, yOffset, seed, minMax);
-        return new OutputMinMax(minMax);
+        final OutputMinMax minMax = new OutputMinMax();
+        genPositionArray2D(noiseOut, xPosArray, yPosArray, xOffset, yOffset, seed, minMax);
+        return minMax;
+    }
+
+    public void genPositionArray2D(FloatArray noiseOut, FloatArray xPosArray, FloatArray yPosArray, float xOffset, float yOffset, int seed, OutputMinMax outputMinMax) {
+        checkPositionCount(xPosArray.size(), yPosArray.size());
+        genPositionArray2D(noiseOut, xPosArray.size(), xPosArray, yPosArray, xOffset, yOffset, seed, outputMinMax);
+    }
+
+    // Generates only the first count positions, so oversized coordinate buffers can be reused for smaller batches
+    public void genPositionArray2D(FloatArray noiseOut, int count, FloatArray xPosArray, FloatArray yPosArray, float xOffset, float yOffset, int seed, OutputMinMax outputMinMax) {
+        checkPositionRange(count, noiseOut);
+        checkPositionRange(count, xPosArray);
+        checkPositionRange(count, yPosArray);
+        genPositionArray2D(noiseOut.getSegment(), count, xPosArray.getSegment(), yPosArray.getSegment(), xOffset, yOffset, seed, outputMinMax);
     }
 
     public OutputMinMax genPositionArray3D(FloatArray noiseOut, FloatArray xPosArray, FloatArray yPosArray, FloatArray zPosArray, float xOffset, float yOffset, float zOffset, int seed) {
-        final FloatArray minMax = new FloatArray(2);
-        fnGenPositionArray3D(mNodeHandle, noiseOut, xPosArray.size(), xPosArray, yPosArray, zPosArray, xOffset, yOffset, zOffset, seed, minMax);
-        return new OutputMinMax(minMax);
+        final OutputMinMax minMax = new OutputMinMax();
+        genPositionArray3D(noiseOut, xPosArray, yPosArray, zPosArray, xOffset, yOffset, zOffset, seed, minMax);
+        return minMax;
+    }
+
+    public void genPositionArray3D(FloatArray noiseOut, FloatArray xPosArray, FloatArray yPosArray, FloatArray zPosArray, float xOffset, float yOffset, float zOffset, int seed, OutputMinMax outputMinMax) {
+        checkPositionCount(xPosArray.size(), yPosArray.size());
+        checkPositionCount(xPosArray.size(), zPosArray.size());
+        genPositionArray3D(noiseOut, xPosArray.size(), xPosArray, yPosArray, zPosArray, xOffset, yOffset, zOffset, seed, outputMinMax);
+    }
+
+    public void genPositionArray3D(FloatArray noiseOut, int count, FloatArray xPosArray, FloatArray yPosArray, FloatArray zPosArray, float xOffset, float yOffset, float zOffset, int seed, OutputMinMax outputMinMax) {
+        checkPositionRange(count, noiseOut);
+        checkPositionRange(count, xPosArray);
+        checkPositionRange(count, yPosArray);
+        checkPositionRange(count, zPosArray);
+        genPositionArray3D(noiseOut.getSegment(), count, xPosArray.getSegment(), yPosArray.getSegment(), zPosArray.getSegment(), xOffset, yOffset, zOffset, seed, outputMinMax);
     }
 
     public OutputMinMax genPositionArray4D(FloatArray noiseOut, FloatArray xPosArray, FloatArray yPosArray, FloatArray zPosArray, FloatArray wPosArray, float xOffset, float yOffset, float zOffset, float wOffset, int seed) {
-        final FloatArray minMax = new FloatArray(2);
-        fnGenPositionArray4D(mNodeHandle, noiseOut, xPosArray.size(), xPosArray, yPosArray, zPosArray, wPosArray, xOffset, yOffset, zOffset, wOffset, seed, minMax);
-        return new OutputMinMax(minMax);
+        final OutputMinMax minMax = new OutputMinMax();
+        genPositionArray4D(noiseOut, xPosArray, yPosArray, zPosArray, wPosArray, xOffset, yOffset, zOffset, wOffset, seed, minMax);
+        return minMax;
     }
 
-    public float genSingle2D(float x, float y, int seed) {
-        return fnGenSingle2D(mNodeHandle, x, y, seed);
+    public void genPositionArray4D(FloatArray noiseOut, FloatArray xPosArray, FloatArray yPosArray, FloatArray zPosArray, FloatArray wPosArray, float xOffset, float yOffset, float zOffset, float wOffset, int seed, OutputMinMax outputMinMax) {
+        checkPositionCount(xPosArray.size(), yPosArray.size());
+        checkPositionCount(xPosArray.size(), zPosArray.size());
+        checkPositionCount(xPosArray.size(), wPosArray.size());
+        genPositionArray4D(noiseOut, xPosArray.size(), xPosArray, yPosArray, zPosArray, wPosArray, xOffset, yOffset, zOffset, wOffset, seed, outputMinMax);
     }
 
-    public float genSingle3D(float x, float y, float z, int seed) {
-        return fnGenSingle3D(mNodeHandle, x, y, z, seed);
+    public void genPositionArray4D(FloatArray noiseOut, int count, FloatArray xPosArray, FloatArray yPosArray, FloatArray zPosArray, FloatArray wPosArray, float xOffset, float yOffset, float zOffset, float wOffset, int seed, OutputMinMax outputMinMax) {
+        checkPositionRange(count, noiseOut);
+        checkPositionRange(count, xPosArray);
+        checkPositionRange(count, yPosArray);
+        checkPositionRange(count, zPosArray);
+        checkPositionRange(count, wPosArray);
+        genPositionArray4D(noiseOut.getSegment(), count, xPosArray.getSegment(), yPosArray.getSegment(), zPosArray.getSegment(), wPosArray.getSegment(), xOffset, yOffset, zOffset, wOffset, seed, outputMinMax);
     }
 
-    public float genSingle4D(float x, float y, float z, float w, int seed) {
-        return fnGenSingle4D(mNodeHandle, x, y, z, w, seed);
+    // PositionBatch overloads generate batch.count() points into the start of noiseOut
+    public OutputMinMax genPositionArray2D(FloatArray noiseOut, PositionBatch positions, float xOffset, float yOffset, int seed) {
+        final OutputMinMax minMax = new OutputMinMax();
+        genPositionArray2D(noiseOut, positions, xOffset, yOffset, seed, minMax);
+        return minMax;
     }
 
-    private Metadata.Member getMember(String memberName) {
-        final String key = formatLookup(memberName);
-        final Metadata metadata = nodeMetadata[mMetadataId];
-        final Metadata.Member member = metadata.members.get(key);
-        if (member == null) {
-            throw new IllegalArgumentException("Failed to find member name: " + memberName);
-        }
-        return member;
+    public void genPositionArray2D(FloatArray noiseOut, PositionBatch positions, float xOffset, float yOffset, int seed, OutputMinMax outputMinMax) {
+        checkBatchDimensions(positions, 2);
+        genPositionArray2D(noiseOut, positions.count(), positions.x(), positions.y(), xOffset, yOffset, seed, outputMinMax);
     }
 
-    private static String formatLookup(String s) {
-        return s.replace(" ", "").toLowerCase();
+    public OutputMinMax genPositionArray3D(FloatArray noiseOut, PositionBatch positions, float xOffset, float yOffset, float zOffset, int seed) {
+        final OutputMinMax minMax = new OutputMinMax();
+        genPositionArray3D(noiseOut, positions, xOffset, yOffset, zOffset, seed, minMax);
+        return minMax;
     }
 
-    private static String formatDimensionMember(String name, int dimIdx) {
-        if (dimIdx >= 0) {
-            char[] dimSuffix = {'x', 'y', 'z', 'w'};
-            name += dimSuffix[dimIdx];
-        }
-        return name;
+    public void genPositionArray3D(FloatArray noiseOut, PositionBatch positions, float xOffset, float yOffset, float zOffset, int seed, OutputMinMax outputMinMax) {
+        checkBatchDimensions(positions, 3);
+        genPositionArray3D(noiseOut, positions.count(), positions.x(), positions.y(), positions.z(), xOffset, yOffset, zOffset, seed, outputMinMax);
     }
 
-    static {
-        int metadataCount = fnGetMetadataCount();
+    public OutputMinMax genPositionArray4D(FloatArray noiseOut, PositionBatch positions, float xOffset, float yOffset, float zOffset, float wOffset, int seed) {
+        final OutputMinMax minMax = new OutputMinMax();
+        genPositionArray4D(noiseOut, positions, xOffset, yOffset, zOffset, wOffset, seed, minMax);
+        return minMax;
+    }
 
-        nodeMetadata = new Metadata[metadataCount];
-        metadataNameLookup = new HashMap<>(metadataCount);
+    public void genPositionArray4D(FloatArray noiseOut, PositionBatch positions, float xOffset, float yOffset, float zOffset, float wOffset, int seed, OutputMinMax outputMinMax) {
+        checkBatchDimensions(positions, 4);
+        genPositionArray4D(noiseOut, positions.count(), positions.x(), positions.y(), positions.z(), positions.w(), xOffset, yOffset, zOffset, wOffset, seed, outputMinMax);
+    }
 
-        // Collect metadata for all FastNoise node classes
-        for (int id = 0; id < metadataCount; id++) {
-            Metadata metadata = new Metadata();
-            metadata.setId(id);
-            metadata.setName(formatLookup(fnGetMetadataName(id))); // Assuming fnGetMetadataName returns a String
+    // float[] overloads hand the Java array straight to the native side through a critical downcall, no staging copy is made
+    public OutputMinMax genUniformGrid2D(float[] noiseOut, int xStart, int yStart, int xSize, int ySize, float frequency, int seed) {
+        final OutputMinMax minMax = new OutputMinMax();
+        genUniformGrid2D(noiseOut, xStart, yStart, xSize, ySize, frequency, seed, minMax);
+        return minMax;
+    }
 
-            metadataNameLookup.put(metadata.getName(), id);
+    public void genUniformGrid2D(float[] noiseOut, int xStart, int yStart, int xSize, int ySize, float frequency, int seed, OutputMinMax outputMinMax) {
+        checkOutputCapacity(noiseOut, (long) xSize * ySize);
+        genUniformGrid2D(MemorySegment.ofArray(noiseOut), xStart, yStart, xSize, ySize, frequency, seed, outputMinMax);
+    }
 
-            int variableCount = fnGetMetadataVariableCount(id);
-            int nodeLookupCount = fnGetMetadataNodeLookupCount(id);
-            int hybridCount = fnGetMetadataHybridCount(id);
-            metadata.setMembers(new HashMap<>(variableCount + nodeLookupCount + hybridCount));
+    public OutputMinMax genUniformGrid3D(float[] noiseOut, int xStart, int yStart, int zStart, int xSize, int ySize, int zSize, float frequency, int seed) {
+        final OutputMinMax minMax = new OutputMinMax();
+        genUniformGrid3D(noiseOut, xStart, yStart, zStart, xSize, ySize, zSize, frequency, seed, minMax);
+        return minMax;
+    }
 
-            // Init variables
-            for (int variableIdx = 0; variableIdx < variableCount; variableIdx++) {
-                Metadata.Member member = new Metadata.Member();
+    public void genUniformGrid3D(float[] noiseOut, int xStart, int yStart, int zStart, int xSize, int ySize, int zSize, float frequency, int seed, OutputMinMax outputMinMax) {
+        checkOutputCapacity(noiseOut, (long) xSize * ySize * zSize);
+        genUniformGrid3D(MemorySegment.ofArray(noiseOut), xStart, yStart, zStart, xSize, ySize, zSize, frequency, seed, outputMinMax);
+    }
 
-                member.setName(formatLookup(fnGetMetadataVariableName(id, variableIdx)));
-                member.setType(Metadata.Member.Type.values()[fnGetMetadataVariableType(id, variableIdx)]);
-                member.setIndex(variableIdx);
+    public OutputMinMax genUniformGrid4D(float[] noiseOut, int xStart, int yStart, int zStart, int wStart, int xSize, int ySize, int zSize, int wSize, float frequency, int seed) {
+        final OutputMinMax minMax = new OutputMinMax();
+        genUniformGrid4D(noiseOut, xStart, yStart, zStart, wStart, xSize, ySize, zSize, wSize, frequency, seed, minMax);
+        return minMax;
+    }
 
-                member.setName(formatDimensionMember(member.getName(), fnGetMetadataVariableDimensionIdx(id, variableIdx)));
+    public void genUniformGrid4D(float[] noiseOut, int xStart, int yStart, int zStart, int wStart, int xSize, int ySize, int zSize, int wSize, float frequency, int seed, OutputMinMax outputMinMax) {
+        checkOutputCapacity(noiseOut, (long) xSize * ySize * zSize * wSize);
+        genUniformGrid4D(MemorySegment.ofArray(noiseOut), xStart, yStart, zStart, wStart, xSize, ySize, zSize, wSize, frequency, seed, outputMinMax);
+    }
 
-                // Get enum names
-                if (member.getType() == Metadata.Member.Type.Enum) {
-                    int enumCount = fnGetMetadataEnumCount(id, variableIdx);
-                    HashMap<String, Integer> enumNames = new HashMap<>(enumCount);
+    public OutputMinMax genTileable2D(float[] noiseOut, int xSize, int ySize, float frequency, int seed) {
+        final OutputMinMax minMax = new OutputMinMax();
+        genTileable2D(noiseOut, xSize, ySize, frequency, seed, minMax);
+        return minMax;
+    }
 
-                    for (int enumIdx = 0; enumIdx < enumCount; enumIdx++) {
-                        enumNames.put(formatLookup(fnGetMetadataEnumName(id, variableIdx, enumIdx)), enumIdx);
-                    }
-                    member.setEnumNames(enumNames);
-                }
+    public void genTileable2D(float[] noiseOut, int xSize, int ySize, float frequency, int seed, OutputMinMax outputMinMax) {
+        checkOutputCapacity(noiseOut, (long) xSize * ySize);
+        genTileable2D(MemorySegment.ofArray(noiseOut), xSize, ySize, frequency, seed, outputMinMax);
+    }
 
-                metadata.getMembers().put(member.getName(), member);
-            }
+    public OutputMinMax genPositionArray2D(float[] noiseOut, float[] xPosArray, float[] yPosArray, float xOffset, float yOffset, int seed) {
+        final OutputMinMax minMax = new OutputMinMax();
+        genPositionArray2D(noiseOut, xPosArray, yPosArray, xOffset, yOffset, seed, minMax);
+        return minMax;
+    }
 
-            // Init node lookups
-            for (int nodeLookupIdx = 0; nodeLookupIdx < nodeLookupCount; nodeLookupIdx++) {
-                Metadata.Member member = new Metadata.Member();
+    public void genPositionArray2D(float[] noiseOut, float[] xPosArray, float[] yPosArray, float xOffset, float yOffset, int seed, OutputMinMax outputMinMax) {
+        final int count = xPosArray.length;
+        checkPositionCount(count, yPosArray.length);
+        checkOutputCapacity(noiseOut, count);
+        genPositionArray2D(MemorySegment.ofArray(noiseOut), count, MemorySegment.ofArray(xPosArray), MemorySegment.ofArray(yPosArray), xOffset, yOffset, seed, outputMinMax);
+    }
 
-                member.setName(formatLookup(fnGetMetadataNodeLookupName(id, nodeLookupIdx)));
-                member.setType(Metadata.Member.Type.NodeLookup);
-                member.setIndex(nodeLookupIdx);
+    public OutputMinMax genPositionArray3D(float[] noiseOut, float[] xPosArray, float[] yPosArray, float[] zPosArray, float xOffset, float yOffset, float zOffset, int seed) {
+        final OutputMinMax minMax = new OutputMinMax();
+        genPositionArray3D(noiseOut, xPosArray, yPosArray, zPosArray, xOffset, yOffset, zOffset, seed, minMax);
+        return minMax;
+    }
 
-                member.setName(formatDimensionMember(member.getName(), fnGetMetadataNodeLookupDimensionIdx(id, nodeLookupIdx)));
+    public void genPositionArray3D(float[] noiseOut, float[] xPosArray, float[] yPosArray, float[] zPosArray, float xOffset, float yOffset, float zOffset, int seed, OutputMinMax outputMinMax) {
+        final int count = xPosArray.length;
+        checkPositionCount(count, yPosArray.length);
+        checkPositionCount(count, zPosArray.length);
+        checkOutputCapacity(noiseOut, count);
+        genPositionArray3D(MemorySegment.ofArray(noiseOut), count, MemorySegment.ofArray(xPosArray), MemorySegment.ofArray(yPosArray), MemorySegment.ofArray(zPosArray), xOffset, yOffset, zOffset, seed, outputMinMax);
+    }
 
-                metadata.getMembers().put(member.getName(), member);
-            }
+    public OutputMinMax genPositionArray4D(float[] noiseOut, float[] xPosArray, float[] yPosArray, float[] zPosArray, float[] wPosArray, float xOffset, float yOffset, float zOffset, float wOffset, int seed) {
+        final OutputMinMax minMax = new OutputMinMax();
+        genPositionArray4D(noiseOut, xPosArray, yPosArray, zPosArray, wPosArray, xOffset, yOffset, zOffset, wOffset, seed, minMax);
+        return minMax;
+    }
 
-            // Init hybrids
-            for (int hybridIdx = 0; hybridIdx < hybridCount; hybridIdx++) {
-                Metadata.Member member = new Metadata.Member();
+    public void genPositionArray4D(float[] noiseOut, float[] xPosArray, float[] yPosArray, float[] zPosArray, float[] wPosArray, float xOffset, float yOffset, float zOffset, float wOffset, int seed, OutputMinMax outputMinMax) {
+        final int count = xPosArray.length;
+        checkPositionCount(count, yPosArray.length);
+        checkPositionCount(count, zPosArray.length);
+        checkPositionCount(count, wPosArray.length);
+        checkOutputCapacity(noiseOut, count);
+        genPositionArray4D(MemorySegment.ofArray(noiseOut), count, MemorySegment.ofArray(xPosArray), MemorySegment.ofArray(yPosArray), MemorySegment.ofArray(zPosArray), MemorySegment.ofArray(wPosArray), xOffset, yOffset, zOffset, wOffset, seed, outputMinMax);
+    }
 
-                member.setName(formatLookup(fnGetMetadataHybridName(id, hybridIdx)));
-                member.setType(Metadata.Member.Type.Hybrid);
-                member.setIndex(hybridIdx);
+    private void genUniformGrid2D(MemorySegment noiseOut, int xStart, int yStart, int xSize, int ySize, float frequency, int seed, OutputMinMax outputMinMax) {
+        final long start = NoiseMetrics.start();
+        final NoiseGenerationEvent event = new NoiseGenerationEvent();
+        event.begin();
+        final MemorySegment minMax = outputMinMax == null ? MemorySegment.NULL : minMaxScratch.get();
+        boolean failed = true;
+        try {
+            fnGenUniformGrid2D(mNodeHandle, noiseOut, xStart, yStart, xSize, ySize, frequency, seed, minMax);
+            failed = false;
+        } finally {
+            recordGeneration(event, NoiseMetrics.Operation.GEN_UNIFORM_GRID_2D, (long) xSize * ySize, frequency, start, failed);
+        }
+        if (outputMinMax != null) {
+            outputMinMax.read(minMax);
+        }
+    }
 
-                member.setName(formatDimensionMember(member.getName(), fnGetMetadataHybridDimensionIdx(id, hybridIdx)));
+    private void genUniformGrid3D(MemorySegment noiseOut, int xStart, int yStart, int zStart, int xSize, int ySize, int zSize, float frequency, int seed, OutputMinMax outputMinMax) {
+        final long start = NoiseMetrics.start();
+        final NoiseGenerationEvent event = new NoiseGenerationEvent();
+        event.begin();
+        final MemorySegment minMax = outputMinMax == null ? MemorySegment.NULL : minMaxScratch.get();
+        boolean failed = true;
+        try {
+            fnGenUniformGrid3D(mNodeHandle, noiseOut, xStart, yStart, zStart, xSize, ySize, zSize, frequency, seed, minMax);
+            failed = false;
+        } finally {
+            recordGeneration(event, NoiseMetrics.Operation.GEN_UNIFORM_GRID_3D, (long) xSize * ySize * zSize, frequency, start, failed);
+        }
+        if (outputMinMax != null) {
+            outputMinMax.read(minMax);
+        }
+    }
 
-                metadata.getMembers().put(member.getName(), member);
-            }
-            nodeMetadata[id] = metadata;
+    private void genUniformGrid4D(MemorySegment noiseOut, int xStart, int yStart, int zStart, int wStart, int xSize, int ySize, int zSize, int wSize, float frequency, int seed, OutputMinMax outputMinMax) {
+        final long start = NoiseMetrics.start();
+        final NoiseGenerationEvent event = new NoiseGenerationEvent();
+        event.begin();
+        final MemorySegment minMax = outputMinMax == null ? MemorySegment.NULL : minMaxScratch.get();
+        boolean failed = true;
+        try {
+            fnGenUniformGrid4D(mNodeHandle, noiseOut, xStart, yStart, zStart, wStart, xSize, ySize, zSize, wSize, frequency, seed, minMax);
+            failed = false;
+        } finally {
+            recordGeneration(event, NoiseMetrics.Operation.GEN_UNIFORM_GRID_4D, (long) xSize * ySize * zSize * wSize, frequency, start, failed);
+        }
+        if (outputMinMax != null) {
+            outputMinMax.read(minMax);
+        }
+    }
+
+    private void genTileable2D(MemorySegment noiseOut, int xSize, int ySize, float frequency, int seed, OutputMinMax outputMinMax) {
+        final long start = NoiseMetrics.start();
+        final NoiseGenerationEvent event = new NoiseGenerationEvent();
+        event.begin();
+        final MemorySegment minMax = outputMinMax == null ? MemorySegment.NULL : minMaxScratch.get();
+        boolean failed = true;
+        try {
+            fnGenTileable2D(mNodeHandle, noiseOut, xSize, ySize, frequency, seed, minMax);
+            failed = false;
+        } finally {
+            recordGeneration(event, NoiseMetrics.Operation.GEN_TILEABLE_2D, (long) xSize * ySize, frequency, start, failed);
+        }
+        if (outputMinMax != null) {
+            outputMinMax.read(minMax);
+        }
+    }
+
+    void genPositionArray2D(MemorySegment noiseOut, int count, MemorySegment xPosArray, MemorySegment yPosArray, float xOffset, float yOffset, int seed, OutputMinMax outputMinMax) {
+        final long start = NoiseMetrics.start();
+        final NoiseGenerationEvent event = new NoiseGenerationEvent();
+        event.begin();
+        final MemorySegment minMax = outputMinMax == null ? MemorySegment.NULL : minMaxScratch.get();
+        boolean failed = true;
+        try {
+            fnGenPositionArray2D(mNodeHandle, noiseOut, count, xPosArray, yPosArray, xOffset, yOffset, seed, minMax);
+            failed = false;
+        } finally {
+            recordGeneration(event, NoiseMetrics.Operation.GEN_POSITION_ARRAY_2D, count, 0, start, failed);
+        }
+        if (outputMinMax != null) {
+            outputMinMax.read(minMax);
+        }
+    }
+
+    void genPositionArray3D(MemorySegment noiseOut, int count, MemorySegment xPosArray, MemorySegment yPosArray, MemorySegment zPosArray, float xOffset, float yOffset, float zOffset, int seed, OutputMinMax outputMinMax) {
+        final long start = NoiseMetrics.start();
+        final NoiseGenerationEvent event = new NoiseGenerationEvent();
+        event.begin();
+        final MemorySegment minMax = outputMinMax == null ? MemorySegment.NULL : minMaxScratch.get();
+        boolean failed = true;
+        try {
+            fnGenPositionArray3D(mNodeHandle, noiseOut, count, xPosArray, yPosArray, zPosArray, xOffset, yOffset, zOffset, seed, minMax);
+            failed = false;
+        } finally {
+            recordGeneration(event, NoiseMetrics.Operation.GEN_POSITION_ARRAY_3D, count, 0, start, failed);
+        }
+        if (outputMinMax != null) {
+            outputMinMax.read(minMax);
+        }
+    }
+
+    void genPositionArray4D(MemorySegment noiseOut, int count, MemorySegment xPosArray, MemorySegment yPosArray, MemorySegment zPosArray, MemorySegment wPosArray, float xOffset, float yOffset, float zOffset, float wOffset, int seed, OutputMinMax outputMinMax) {
+        final long start = NoiseMetrics.start();
+        final NoiseGenerationEvent event = new NoiseGenerationEvent();
+        event.begin();
+        final MemorySegment minMax = outputMinMax == null ? MemorySegment.NULL : minMaxScratch.get();
+        boolean failed = true;
+        try {
+            fnGenPositionArray4D(mNodeHandle, noiseOut, count, xPosArray, yPosArray, zPosArray, wPosArray, xOffset, yOffset, zOffset, wOffset, seed, minMax);
+            failed = false;
+        } finally {
+            recordGeneration(event, NoiseMetrics.Operation.GEN_POSITION_ARRAY_4D, count, 0, start, failed);
+        }
+        if (outputMinMax != null) {
+            outputMinMax.read(minMax);
+        }
+    }
+
+    public float genSingle2D(float x, float y, int seed) {
+        final long start = NoiseMetrics.start();
+        final NoiseSampleEvent event = new NoiseSampleEvent();
+        event.begin();
+        boolean failed = true;
+        try {
+            final float value = fnGenSingle2D(mNodeHandle, x, y, seed);
+            failed = false;
+            return value;
+        } finally {
+            recordSample(event, NoiseMetrics.Operation.GEN_SINGLE_2D, start, failed);
+        }
+    }
+
+    public float genSingle3D(float x, float y, float z, int seed) {
+        final long start = NoiseMetrics.start();
+        final NoiseSampleEvent event = new NoiseSampleEvent();
+        event.begin();
+        boolean failed = true;
+        try {
+            final float value = fnGenSingle3D(mNodeHandle, x, y, z, seed);
+            failed = false;
+            return value;
+        } finally {
+            recordSample(event, NoiseMetrics.Operation.GEN_SINGLE_3D, start, failed);
+        }
+    }
+
+    public float genSingle4D(float x, float y, float z, float w, int seed) {
+        final long start = NoiseMetrics.start();
+        final NoiseSampleEvent event = new NoiseSampleEvent();
+        event.begin();
+        boolean failed = true;
+        try {
+            final float value = fnGenSingle4D(mNodeHandle, x, y, z, w, seed);
+            failed = false;
+            return value;
+        } finally {
+            recordSample(event, NoiseMetrics.Operation.GEN_SINGLE_4D, start, failed);
+        }
+    }
+
+    // Runs in a finally block, calls that throw are recorded as failed
+    private void recordGeneration(NoiseGenerationEvent event, NoiseMetrics.Operation operation, long points, float frequency, long start, boolean failed) {
+        NoiseMetrics.record(operation, points, start, failed);
+        if (event.shouldCommit()) {
+            event.operation = operation.name();
+            event.nodeType = MetadataRegistry.get(mMetadataId).name;
+            event.dimensions = operation.dimensions;
+            event.pointCount = points;
+            event.simdLevel = cachedSIMDLevel().name();
+            event.frequency = frequency;
+            event.failed = failed;
+            event.commit();
+        }
+    }
+
+    private void recordSample(NoiseSampleEvent event, NoiseMetrics.Operation operation, long start, boolean failed) {
+        NoiseMetrics.record(operation, 1, start, failed);
+        if (event.shouldCommit()) {
+            event.operation = operation.name();
+            event.nodeType = MetadataRegistry.get(mMetadataId).name;
+            event.dimensions = operation.dimensions;
+            event.simdLevel = cachedSIMDLevel().name();
+            event.failed = failed;
+            event.commit();
+        }
+    }
+
+    // A node's level never changes, look it up once instead of a downcall per event
+    private SIMDLevel cachedSIMDLevel() {
+        SIMDLevel level = mSIMDLevel;
+        if (level == null) {
+            level = mSIMDLevel = simdLevel();
+        }
+        return level;
+    }
+
+    // The native side writes without bounds checks, an undersized Java array would corrupt the heap
+    private static void checkOutputCapacity(float[] noiseOut, long required) {
+        if (noiseOut.length < required) {
+            throw new IllegalArgumentException("Output array too small: " + noiseOut.length + " < " + required);
+        }
+    }
+
+    private static void checkPositionCount(int expected, int actual) {
+        if (actual != expected) {
+            throw new IllegalArgumentException("Position arrays have different lengths: " + expected + " != " + actual);
+        }
+    }
+
+    private static void checkPositionRange(int count, FloatArray array) {
+        if (count < 0 || count > array.size()) {
+            throw new IllegalArgumentException("Position count " + count + " out of range for array of size " + array.size());
+        }
+    }
+
+    private static void checkBatchDimensions(PositionBatch positions, int expected) {
+        if (positions.dimensions() != expected) {
+            throw new IllegalArgumentException("Expected a " + expected + "D PositionBatch, got " + positions.dimensions() + "D");
         }
     }
 
+    private Metadata.Member getMember(String memberName) {
+        final String key = formatLookup(memberName);
+        final Metadata metadata = MetadataRegistry.get(mMetadataId);
+        final Metadata.Member member = metadata.members.get(key);
+        if (member == null) {
+            throw new IllegalArgumentException("Failed to find member name: " + memberName);
+        }
+        return member;
+    }
+
+    static String formatLookup(String s) {
+        return s.replace(" ", "").toLowerCase();
+    }
+
     static MemorySegment fnNewFromMetadata(int id, int simdLevel) {
         try {
             return (MemorySegment) fnNewFromMetadata.invokeExact(id, simdLevel);//void point
@@ -723,92 +1555,132 @@ public class FastNoise implements AutoCloseable {
         }
     }
 
-    static int fnGenUniformGrid2D(MemorySegment nodeHandle, FloatArray noiseOut,
+    static int fnGenUniformGrid2D(MemorySegment nodeHandle, MemorySegment noiseOut,
                                   int xStart, int yStart,
                                   int xSize, int ySize,
-                                  float frequency, int seed, FloatArray outputMinMax) {
+                                  float frequency, int seed, MemorySegment outputMinMax) {
         try {
-            return (int) fnGenUniformGrid2D.invokeExact(nodeHandle, noiseOut.getSegment(), xStart, yStart, xSize, ySize, frequency, seed, outputMinMax.getSegment());
+            if (noiseOut.isNative()) {
+                return (int) fnGenUniformGrid2D.invokeExact(nodeHandle, noiseOut, xStart, yStart, xSize, ySize, frequency, seed, outputMinMax);
+            }
+            return (int) fnGenUniformGrid2DCritical.invokeExact(nodeHandle, noiseOut, xStart, yStart, xSize, ySize, frequency, seed, outputMinMax);
         } catch (Throwable e) {
             throw new ExternalLibraryException(e);
         }
     }
 
-    static int fnGenUniformGrid3D(MemorySegment nodeHandle, FloatArray noiseOut,
+    static int fnGenUniformGrid3D(MemorySegment nodeHandle, MemorySegment noiseOut,
                                   int xStart, int yStart, int zStart,
                                   int xSize, int ySize, int zSize,
-                                  float frequency, int seed, FloatArray outputMinMax) {
+                                  float frequency, int seed, MemorySegment outputMinMax) {
         try {
-            return (int) fnGenUniformGrid3D.invokeExact(nodeHandle, noiseOut.getSegment(),
+            if (noiseOut.isNative()) {
+                return (int) fnGenUniformGrid3D.invokeExact(nodeHandle, noiseOut,
+                        xStart, yStart, zStart,
+                        xSize, ySize, zSize,
+                        frequency, seed, outputMinMax);
+            }
+            return (int) fnGenUniformGrid3DCritical.invokeExact(nodeHandle, noiseOut,
                     xStart, yStart, zStart,
                     xSize, ySize, zSize,
-                    frequency, seed, outputMinMax.getSegment());
+                    frequency, seed, outputMinMax);
         } catch (Throwable e) {
             throw new ExternalLibraryException(e);
         }
     }
 
-    static int fnGenUniformGrid4D(MemorySegment nodeHandle, FloatArray noiseOut,
+    static int fnGenUniformGrid4D(MemorySegment nodeHandle, MemorySegment noiseOut,
                                   int xStart, int yStart, int zStart, int wStart,
                                   int xSize, int ySize, int zSize, int wSize,
-                                  float frequency, int seed, FloatArray outputMinMax) {
+                                  float frequency, int seed, MemorySegment outputMinMax) {
         try {
-            return (int) fnGenUniformGrid4D.invokeExact(nodeHandle, noiseOut.getSegment(),
+            if (noiseOut.isNative()) {
+                return (int) fnGenUniformGrid4D.invokeExact(nodeHandle, noiseOut,
+                        xStart, yStart, zStart, wStart,
+                        xSize, ySize, zSize, wSize,
+                        frequency, seed, outputMinMax);
+            }
+            return (int) fnGenUniformGrid4DCritical.invokeExact(nodeHandle, noiseOut,
                     xStart, yStart, zStart, wStart,
                     xSize, ySize, zSize, wSize,
-                    frequency, seed, outputMinMax.getSegment());
+                    frequency, seed, outputMinMax);
         } catch (Throwable e) {
             throw new ExternalLibraryException(e);
         }
     }
 
-    static void fnGenTileable2D(MemorySegment nodeHandle, FloatArray noiseOut,
+    static void fnGenTileable2D(MemorySegment nodeHandle, MemorySegment noiseOut,
                                 int xSize, int ySize,
-                                float frequency, int seed, FloatArray outputMinMax) {
+                                float frequency, int seed, MemorySegment outputMinMax) {
         try {
-            fnGenTileable2D.invokeExact(nodeHandle, noiseOut.getSegment(), xSize, ySize, frequency, seed, outputMinMax.getSegment());
+            if (noiseOut.isNative()) {
+                fnGenTileable2D.invokeExact(nodeHandle, noiseOut, xSize, ySize, frequency, seed, outputMinMax);
+            } else {
+                fnGenTileable2DCritical.invokeExact(nodeHandle, noiseOut, xSize, ySize, frequency, seed, outputMinMax);
+            }
         } catch (Throwable e) {
             throw new ExternalLibraryException(e);
         }
     }
 
-    static void fnGenPositionArray2D(MemorySegment nodeHandle, FloatArray noiseOut, int count,
-                                     FloatArray xPosArray, FloatArray yPosArray,
+    static void fnGenPositionArray2D(MemorySegment nodeHandle, MemorySegment noiseOut, int count,
+                                     MemorySegment xPosArray, MemorySegment yPosArray,
                                      float xOffset, float yOffset,
-                                     int seed, FloatArray outputMinMax) {
+                                     int seed, MemorySegment outputMinMax) {
         try {
-            fnGenPositionArray2D.invokeExact(nodeHandle, noiseOut.getSegment(), count,
-                    xPosArray.getSegment(), yPosArray.getSegment(),
-                    xOffset, yOffset,
-                    seed, outputMinMax.getSegment());
+            if (noiseOut.isNative() && xPosArray.isNative() && yPosArray.isNative()) {
+                fnGenPositionArray2D.invokeExact(nodeHandle, noiseOut, count,
+                        xPosArray, yPosArray,
+                        xOffset, yOffset,
+                        seed, outputMinMax);
+            } else {
+                fnGenPositionArray2DCritical.invokeExact(nodeHandle, noiseOut, count,
+                        xPosArray, yPosArray,
+                        xOffset, yOffset,
+                        seed, outputMinMax);
+            }
         } catch (Throwable e) {
             throw new ExternalLibraryException(e);
         }
     }
 
-    static void fnGenPositionArray3D(MemorySegment nodeHandle, FloatArray noiseOut, int count,
-                                     FloatArray xPosArray, FloatArray yPosArray, FloatArray zPosArray,
+    static void fnGenPositionArray3D(MemorySegment nodeHandle, MemorySegment noiseOut, int count,
+                                     MemorySegment xPosArray, MemorySegment yPosArray, MemorySegment zPosArray,
                                      float xOffset, float yOffset, float zOffset,
-                                     int seed, FloatArray outputMinMax) {
+                                     int seed, MemorySegment outputMinMax) {
         try {
-            fnGenPositionArray3D.invokeExact(nodeHandle, noiseOut.getSegment(), count,
-                    xPosArray.getSegment(), yPosArray.getSegment(), zPosArray.getSegment(),
-                    xOffset, yOffset, zOffset,
-                    seed, outputMinMax.getSegment());
+            if (noiseOut.isNative() && xPosArray.isNative() && yPosArray.isNative() && zPosArray.isNative()) {
+                fnGenPositionArray3D.invokeExact(nodeHandle, noiseOut, count,
+                        xPosArray, yPosArray, zPosArray,
+                        xOffset, yOffset, zOffset,
+                        seed, outputMinMax);
+            } else {
+                fnGenPositionArray3DCritical.invokeExact(nodeHandle, noiseOut, count,
+                        xPosArray, yPosArray, zPosArray,
+                        xOffset, yOffset, zOffset,
+                        seed, outputMinMax);
+            }
         } catch (Throwable e) {
             throw new ExternalLibraryException(e);
         }
     }
 
-    static void fnGenPositionArray4D(MemorySegment nodeHandle, FloatArray noiseOut, int count,
-                                     FloatArray xPosArray, FloatArray yPosArray, FloatArray zPosArray, FloatArray wPosArray,
+    static void fnGenPositionArray4D(MemorySegment nodeHandle, MemorySegment noiseOut, int count,
+                                     MemorySegment xPosArray, MemorySegment yPosArray, MemorySegment zPosArray, MemorySegment wPosArray,
                                      float xOffset, float yOffset, float zOffset, float wOffset,
-                                     int seed, FloatArray outputMinMax) {
+                                     int seed, MemorySegment outputMinMax) {
         try {
-            fnGenPositionArray4D.invokeExact(nodeHandle, noiseOut.getSegment(), count,
-                    xPosArray.getSegment(), yPosArray.getSegment(), zPosArray.getSegment(), wPosArray.getSegment(),
-                    xOffset, yOffset, zOffset, wOffset,
-                    seed, outputMinMax.getSegment());
+            if (noiseOut.isNative() && xPosArray.isNative() && yPosArray.isNative() && zPosArray.isNative() && wPosArray.isNative()) {
+                fnGenPositionArray4D.invokeExact(nodeHandle, noiseOut, count,
+                        xPosArray, yPosArray, zPosArray, wPosArray,
+                        xOffset, yOffset, zOffset, wOffset,
+                        seed, outputMinMax);
+            } else {
+                fnGenPositionArray4DCritical.invokeExact(nodeHandle, noiseOut, count,
+                        xPosArray, yPosArray, zPosArray, wPosArray,
+                        xOffset, yOffset, zOffset, wOffset,
+                        seed, outputMinMax);
+            }
         } catch (Throwable e) {
             throw new ExternalLibraryException(e);
         }
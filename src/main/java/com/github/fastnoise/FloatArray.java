@@ -1,62 +1,270 @@
 package com.github.fastnoise;
 
+import java.io.IOException;
 import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
 import java.lang.foreign.ValueLayout;
 import java.lang.ref.Cleaner;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 
 public class FloatArray implements Iterable<Float>, AutoCloseable {
-    private static final Cleaner cleaner = Cleaner.create();
+    public enum Scope {
+        // Only the allocating thread may access or close the array
+        CONFINED,
+        // Any thread may access or close the array
+        SHARED,
+        // Any thread may access the array, memory is freed by the GC once the array is unreachable
+        AUTO,
+        // Any thread may access the array, closing it returns the memory to its FloatArrayPool
+        POOLED,
+        // Any thread may access the array, the memory is a mapping of a file and closing the array unmaps it
+        MAPPED
+    }
+
+    // Memory lent to an array for a limited time, such as a pool lease. Accessing the array after the loan has been
+    // released throws, the memory may already belong to someone else.
+    @FunctionalInterface
+    interface Loan {
+        boolean isReleased();
+    }
 
-    private final Arena memory;
+    private final Scope scope;
     private final MemorySegment segment;
     private final int size;
+    private final NativeMemory.Owner cleanup;
     private final Cleaner.Cleanable cleanable; // Holds the cleanable task for this object
-
-    // Cleanup action class that will be registered with the Cleaner
-    private record MemoryCleanup(Arena memory) implements Runnable {
-        @Override
-        public void run() {
-            memory.close(); // Ensure the memory arena is closed
-        }
-    }
+    private final Loan loan; // Set for pooled arrays, shared views and their slices, checked on every access
 
     // Constructor to allocate a new FloatArray of specified size
     public FloatArray(int size) {
-        memory = Arena.ofConfined();
-        this.segment = memory.allocate(ValueLayout.JAVA_FLOAT, size);
-        this.size = size;
-        this.cleanable = cleaner.register(this, new MemoryCleanup(memory));
+        this(size, Scope.CONFINED);
+    }
+
+    public FloatArray(int size, Scope scope) {
+        this(openArena(scope), size, scope);
     }
 
     // Constructor to create FloatArray from an existing float array
     public FloatArray(float[] array) {
-        memory = Arena.ofConfined();
-        this.size = array.length;
-        this.segment = memory.allocate(ValueLayout.JAVA_FLOAT, size);
-        for (int i = 0; i < size; i++) {
-            segment.setAtIndex(ValueLayout.JAVA_FLOAT, i, array[i]);
+        this(array, Scope.CONFINED);
+    }
+
+    public FloatArray(float[] array, Scope scope) {
+        this(array.length, scope);
+        copyFrom(array);
+    }
+
+    private FloatArray(Arena memory, int size, Scope scope) {
+        this(memory, memory.allocate(ValueLayout.JAVA_FLOAT, size), size, scope);
+    }
+
+    private FloatArray(Arena memory, MemorySegment segment, int size, Scope scope) {
+        this.scope = scope;
+        this.segment = segment;
+        this.size = size;
+        // Auto arenas cannot be closed explicitly, the GC releases them
+        if (scope == Scope.AUTO) {
+            this.cleanup = null;
+            this.cleanable = null;
+        } else {
+            this.cleanup = new NativeMemory.Owner(memory);
+            this.cleanable = NativeMemory.register(this, cleanup);
         }
-        this.cleanable = cleaner.register(this, new MemoryCleanup(memory));
+        this.loan = null;
+    }
+
+    // Wraps memory lent out by a FloatArrayPool, closing the array hands it back instead of freeing it
+    FloatArray(MemorySegment segment, int size, FloatArrayPool.Lease lease) {
+        this.scope = Scope.POOLED;
+        this.segment = segment;
+        this.size = size;
+        this.cleanup = null;
+        this.cleanable = lease;
+        this.loan = lease;
+    }
+
+    // View over part of another array's memory, it does not own the memory and closing it does nothing
+    private FloatArray(MemorySegment segment, int size, Scope scope, Loan loan) {
+        this.scope = scope;
+        this.segment = segment;
+        this.size = size;
+        this.cleanup = null;
+        this.cleanable = null;
+        this.loan = loan;
+    }
+
+    public static FloatArray shared(int size) {
+        return new FloatArray(size, Scope.SHARED);
+    }
+
+    public static FloatArray auto(int size) {
+        return new FloatArray(size, Scope.AUTO);
+    }
+
+    // Maps size floats of a file into memory, creating or growing the file as needed. Generating into the array
+    // writes straight through the page cache into the file, call force() to make sure the data has reached the disk.
+    public static FloatArray map(Path file, int size) throws IOException {
+        return map(file, size, FileChannel.MapMode.READ_WRITE);
+    }
+
+    // A READ_ONLY mapping can be read but must not be generated into
+    public static FloatArray map(Path file, int size, FileChannel.MapMode mode) throws IOException {
+        final boolean readOnly = mode == FileChannel.MapMode.READ_ONLY;
+        final Arena memory = Arena.ofShared();
+        try (FileChannel channel = readOnly
+                ? FileChannel.open(file, StandardOpenOption.READ)
+                : FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // The mapping stays valid after the channel is closed, until the arena is closed
+            final MemorySegment segment = channel.map(mode, 0, size * ValueLayout.JAVA_FLOAT.byteSize(), memory);
+            return new FloatArray(memory, segment, size, Scope.MAPPED);
+        } catch (IOException | RuntimeException e) {
+            memory.close();
+            throw e;
+        }
+    }
+
+    private static Arena openArena(Scope scope) {
+        return switch (scope) {
+            case CONFINED -> Arena.ofConfined();
+            case SHARED -> Arena.ofShared();
+            case AUTO -> Arena.ofAuto();
+            case POOLED -> throw new IllegalArgumentException("Pooled arrays are allocated through a FloatArrayPool");
+            case MAPPED -> throw new IllegalArgumentException("Mapped arrays are created with FloatArray.map");
+        };
+    }
+
+    // Moves ownership of the memory to a new FloatArray, typically right before handing it to another thread.
+    // The returned array is responsible for closing the memory, closing this array afterwards does nothing.
+    public FloatArray transfer() {
+        if (cleanable == null && scope != Scope.AUTO) {
+            throw new IllegalStateException("A FloatArray slice does not own its memory");
+        }
+        return switch (scope) {
+            case CONFINED -> throw new IllegalStateException("A confined FloatArray cannot be handed off to another thread");
+            case AUTO -> new FloatArray(null, segment, size, scope);
+            case SHARED, MAPPED -> transferArena();
+            case POOLED -> new FloatArray(segment, size, ((FloatArrayPool.Lease) cleanable).transfer());
+        };
+    }
+
+    private FloatArray transferArena() {
+        if (cleanup.transferred) {
+            throw new IllegalStateException("FloatArray has already been transferred");
+        }
+        if (!segment.scope().isAlive()) {
+            throw new IllegalStateException("FloatArray is already closed");
+        }
+        final FloatArray target = new FloatArray(cleanup.memory, segment, size, scope);
+        cleanup.transferred = true;
+        cleanable.clean();
+        return target;
     }
 
     public void set(int index, float value) {
         if (index < 0 || index >= size()) {
             throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
         }
-        segment.setAtIndex(ValueLayout.JAVA_FLOAT, index, value);
+        segment().setAtIndex(ValueLayout.JAVA_FLOAT, index, value);
     }
 
     public float get(int index) {
         if (index < 0 || index >= size()) {
             throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
         }
-        return segment.getAtIndex(ValueLayout.JAVA_FLOAT, index);
+        return segment().getAtIndex(ValueLayout.JAVA_FLOAT, index);
+    }
+
+    // Bulk copies check their bounds once and move the whole range with MemorySegment.copy
+    public void copyTo(float[] dst) {
+        copyTo(0, dst, 0, size);
+    }
+
+    public void copyTo(int srcIndex, float[] dst, int dstIndex, int length) {
+        MemorySegment.copy(segment(), ValueLayout.JAVA_FLOAT, srcIndex * ValueLayout.JAVA_FLOAT.byteSize(), dst, dstIndex, length);
+    }
+
+    public void copyFrom(float[] src) {
+        copyFrom(src, 0, 0, src.length);
+    }
+
+    public void copyFrom(float[] src, int srcIndex, int dstIndex, int length) {
+        MemorySegment.copy(src, srcIndex, segment(), ValueLayout.JAVA_FLOAT, dstIndex * ValueLayout.JAVA_FLOAT.byteSize(), length);
+    }
+
+    public float[] toArray() {
+        return segment().toArray(ValueLayout.JAVA_FLOAT);
+    }
+
+    // Named apart from Iterable.forEach, an untyped lambda would otherwise match both overloads
+    public void forEachFloat(FloatConsumer action) {
+        forEachFloat(0, size, action);
+    }
+
+    public void forEachFloat(int fromIndex, int toIndex, FloatConsumer action) {
+        Objects.checkFromToIndex(fromIndex, toIndex, size);
+        final MemorySegment values = segment();
+        for (int i = fromIndex; i < toIndex; i++) {
+            action.accept(values.getAtIndex(ValueLayout.JAVA_FLOAT, i));
+        }
+    }
+
+    // Native-order view of the samples, only valid while this array is open
+    public FloatBuffer asFloatBuffer() {
+        return segment().asByteBuffer().order(ByteOrder.nativeOrder()).asFloatBuffer();
+    }
+
+    // Writes modified pages of a mapped array back to its file
+    public void force() {
+        if (scope != Scope.MAPPED) {
+            throw new IllegalStateException("Only mapped FloatArrays can be forced to storage");
+        }
+        segment.force();
+    }
+
+    public void force(int offset, int length) {
+        if (scope != Scope.MAPPED) {
+            throw new IllegalStateException("Only mapped FloatArrays can be forced to storage");
+        }
+        final long byteSize = ValueLayout.JAVA_FLOAT.byteSize();
+        segment.asSlice(offset * byteSize, length * byteSize).force();
+    }
+
+    public boolean isMapped() {
+        return scope == Scope.MAPPED;
+    }
+
+    // Returns a view of length elements starting at offset, valid only while this array is open
+    public FloatArray slice(int offset, int length) {
+        if (offset < 0 || length < 0 || offset > size - length) {
+            throw new IndexOutOfBoundsException("Slice: " + offset + "+" + length + ", Size: " + size());
+        }
+        final long byteSize = ValueLayout.JAVA_FLOAT.byteSize();
+        return new FloatArray(segment().asSlice(offset * byteSize, length * byteSize), length, scope, loan);
+    }
+
+    // Read-only view for one of several holders of this array, it stops working once loan is released.
+    // Closing the view does nothing, the memory stays owned by this array.
+    FloatArray readOnlyView(Loan loan) {
+        return new FloatArray(segment().asReadOnly(), size, scope, loan);
     }
 
+    // Lent memory can be handed to its next user as soon as this array is closed, so the segment must not be kept
+    // past close
     public MemorySegment getSegment() {
+        return segment();
+    }
+
+    private MemorySegment segment() {
+        if (loan != null && loan.isReleased()) {
+            throw new IllegalStateException("FloatArray has already been returned to its owner");
+        }
         return segment;
     }
 
@@ -64,6 +272,15 @@ public class FloatArray implements Iterable<Float>, AutoCloseable {
         return size;
     }
 
+    public Scope scope() {
+        return scope;
+    }
+
+    // Whether threads other than the allocating one may access this array
+    public boolean isShareable() {
+        return scope != Scope.CONFINED;
+    }
+
     @Override
     public Iterator<Float> iterator() {
         return new FloatIterator();
@@ -71,7 +288,9 @@ public class FloatArray implements Iterable<Float>, AutoCloseable {
 
     @Override
     public void close() {
-        cleanable.clean();
+        if (cleanable != null) {
+            cleanable.clean();
+        }
     }
 
     private class FloatIterator implements Iterator<Float> {
@@ -87,7 +306,7 @@ public class FloatArray implements Iterable<Float>, AutoCloseable {
             if (!hasNext()) {
                 throw new NoSuchElementException();
             }
-            return segment.getAtIndex(ValueLayout.JAVA_FLOAT, currentIndex++);
+            return segment().getAtIndex(ValueLayout.JAVA_FLOAT, currentIndex++);
         }
     }
 }
@@ -0,0 +1,262 @@
+package com.github.fastnoise;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.ref.Cleaner;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Recycles off-heap buffers for {@link FloatArray}s of recurring sizes.
+ * <p>
+ * Requests are rounded up to a power-of-two size class. Closing a pooled array puts its memory into the closing
+ * thread's cache, which spills into a bounded shared tier that every thread can draw from. Memory that does not fit
+ * in either tier is dropped and freed by the GC, so once the working set is cached generation allocates no native
+ * memory. Virtual threads skip their own cache and use the shared tier directly. Pooled arrays are accessible from
+ * any thread and their contents are undefined when acquired; once closed they throw on access, since their memory may
+ * already be leased to someone else.
+ */
+public class FloatArrayPool implements AutoCloseable {
+    private static final int MIN_CLASS_SHIFT = 4;
+
+    private final int maxPooledSize;
+    private final int threadCacheSize;
+    private final int sharedCacheSize;
+    private final ThreadLocal<ArrayDeque<MemorySegment>[]> threadCaches;
+    // Every thread's caches, so close can drain the ones of other threads too. A thread's caches are only locked
+    // against a concurrent close, the lock is uncontended otherwise. The references are weak so the caches of an
+    // exited thread, and the memory in them, are collected with the thread.
+    private final Set<Reference<ArrayDeque<MemorySegment>[]>> allThreadCaches = ConcurrentHashMap.newKeySet();
+    private final ReferenceQueue<ArrayDeque<MemorySegment>[]> exitedThreadCaches = new ReferenceQueue<>();
+    private final ConcurrentLinkedQueue<MemorySegment>[] sharedCaches;
+    private final AtomicIntegerArray sharedCounts;
+    private final LongAdder allocations = new LongAdder();
+    private final LongAdder reuses = new LongAdder();
+    private volatile boolean closed;
+
+    public FloatArrayPool() {
+        this(1 << 24, 4, 64);
+    }
+
+    // maxPooledSize is in floats, larger requests get an unpooled shared FloatArray.
+    // The cache sizes are the number of buffers kept per size class.
+    @SuppressWarnings("unchecked")
+    public FloatArrayPool(int maxPooledSize, int threadCacheSize, int sharedCacheSize) {
+        if (maxPooledSize <= 0 || threadCacheSize < 0 || sharedCacheSize < 0) {
+            throw new IllegalArgumentException("Invalid pool limits");
+        }
+        this.maxPooledSize = maxPooledSize;
+        this.threadCacheSize = threadCacheSize;
+        this.sharedCacheSize = sharedCacheSize;
+
+        final int classCount = sizeClass(maxPooledSize) + 1;
+        this.threadCaches = ThreadLocal.withInitial(() -> {
+            ArrayDeque<MemorySegment>[] caches = new ArrayDeque[classCount];
+            for (int i = 0; i < classCount; i++) {
+                caches[i] = new ArrayDeque<>(threadCacheSize);
+            }
+            purgeExitedThreads();
+            allThreadCaches.add(new WeakReference<>(caches, exitedThreadCaches));
+            return caches;
+        });
+        this.sharedCaches = new ConcurrentLinkedQueue[classCount];
+        for (int i = 0; i < classCount; i++) {
+            sharedCaches[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.sharedCounts = new AtomicIntegerArray(classCount);
+    }
+
+    public FloatArray acquire(int size) {
+        if (closed) {
+            throw new IllegalStateException("FloatArrayPool is closed");
+        }
+        if (size < 0) {
+            throw new IllegalArgumentException("Negative size: " + size);
+        }
+        if (size > maxPooledSize) {
+            allocations.increment();
+            return FloatArray.shared(size);
+        }
+
+        final int sizeClass = sizeClass(size);
+        final ArrayDeque<MemorySegment>[] caches = threadCaches();
+        MemorySegment memory = null;
+        if (caches != null) {
+            synchronized (caches) {
+                memory = caches[sizeClass].pollLast();
+            }
+        }
+        if (memory == null) {
+            memory = sharedCaches[sizeClass].poll();
+            if (memory != null) {
+                sharedCounts.decrementAndGet(sizeClass);
+            }
+        }
+        if (memory == null) {
+            allocations.increment();
+            memory = Arena.ofAuto().allocate(ValueLayout.JAVA_FLOAT, classCapacity(sizeClass));
+        } else {
+            reuses.increment();
+        }
+        return new FloatArray(memory.asSlice(0, size * ValueLayout.JAVA_FLOAT.byteSize()), size, new Lease(this, memory));
+    }
+
+    // Memory released to a closed pool is dropped and freed by the GC
+    void release(MemorySegment memory) {
+        if (closed) {
+            return;
+        }
+        final int sizeClass = sizeClass((int) (memory.byteSize() / ValueLayout.JAVA_FLOAT.byteSize()));
+        final ArrayDeque<MemorySegment>[] caches = threadCaches();
+        boolean cached = false;
+        if (caches != null) {
+            synchronized (caches) {
+                cached = caches[sizeClass].size() < threadCacheSize && caches[sizeClass].add(memory);
+            }
+        }
+        if (!cached) {
+            if (sharedCounts.incrementAndGet(sizeClass) <= sharedCacheSize) {
+                sharedCaches[sizeClass].offer(memory);
+            } else {
+                sharedCounts.decrementAndGet(sizeClass);
+            }
+        }
+        // A close racing with this release may have drained the caches before the memory was added
+        if (closed) {
+            drain();
+        }
+    }
+
+    // Number of buffers the pool had to allocate natively, stays flat once the working set is cached
+    public long allocationCount() {
+        return allocations.sum();
+    }
+
+    public long reuseCount() {
+        return reuses.sum();
+    }
+
+    // Number of buffers currently cached across all threads and the shared tier
+    int cachedCount() {
+        purgeExitedThreads();
+        int count = 0;
+        for (Reference<ArrayDeque<MemorySegment>[]> reference : allThreadCaches) {
+            final ArrayDeque<MemorySegment>[] caches = reference.get();
+            if (caches == null) {
+                continue;
+            }
+            synchronized (caches) {
+                for (ArrayDeque<MemorySegment> cache : caches) {
+                    count += cache.size();
+                }
+            }
+        }
+        for (ConcurrentLinkedQueue<MemorySegment> cache : sharedCaches) {
+            count += cache.size();
+        }
+        return count;
+    }
+
+    // Number of threads whose caches are still tracked, exited threads drop out once the GC has cleared them
+    int threadCacheCount() {
+        purgeExitedThreads();
+        return allThreadCaches.size();
+    }
+
+    // Drops every cached buffer of every thread, arrays that are still out are freed by the GC instead of being returned
+    @Override
+    public void close() {
+        closed = true;
+        drain();
+    }
+
+    private void drain() {
+        purgeExitedThreads();
+        for (Reference<ArrayDeque<MemorySegment>[]> reference : allThreadCaches) {
+            final ArrayDeque<MemorySegment>[] caches = reference.get();
+            if (caches == null) {
+                continue;
+            }
+            synchronized (caches) {
+                for (ArrayDeque<MemorySegment> cache : caches) {
+                    cache.clear();
+                }
+            }
+        }
+        for (int i = 0; i < sharedCaches.length; i++) {
+            sharedCaches[i].clear();
+            sharedCounts.set(i, 0);
+        }
+    }
+
+    // Virtual threads are too many and too short-lived to keep a cache each
+    private ArrayDeque<MemorySegment>[] threadCaches() {
+        return Thread.currentThread().isVirtual() ? null : threadCaches.get();
+    }
+
+    private void purgeExitedThreads() {
+        Reference<? extends ArrayDeque<MemorySegment>[]> reference;
+        while ((reference = exitedThreadCaches.poll()) != null) {
+            allThreadCaches.remove(reference);
+        }
+    }
+
+    private static int sizeClass(int size) {
+        return Math.max(0, 32 - Integer.numberOfLeadingZeros(Math.max(size, 1) - 1) - MIN_CLASS_SHIFT);
+    }
+
+    private static int classCapacity(int sizeClass) {
+        return 1 << (sizeClass + MIN_CLASS_SHIFT);
+    }
+
+    // Returns the memory to the pool exactly once, however many times the owning FloatArray is closed
+    static final class Lease implements Cleaner.Cleanable, FloatArray.Loan {
+        private static final VarHandle RELEASED;
+
+        static {
+            try {
+                RELEASED = MethodHandles.lookup().findVarHandle(Lease.class, "released", boolean.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private final FloatArrayPool pool;
+        private final MemorySegment memory;
+        private volatile boolean released;
+
+        Lease(FloatArrayPool pool, MemorySegment memory) {
+            this.pool = pool;
+            this.memory = memory;
+        }
+
+        @Override
+        public boolean isReleased() {
+            return released;
+        }
+
+        Lease transfer() {
+            if (!RELEASED.compareAndSet(this, false, true)) {
+                throw new IllegalStateException("FloatArray has already been released or transferred");
+            }
+            return new Lease(pool, memory);
+        }
+
+        @Override
+        public void clean() {
+            if (RELEASED.compareAndSet(this, false, true)) {
+                pool.release(memory);
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.github.fastnoise;
+
+// Primitive specialisation of Consumer, avoids boxing each sample
+@FunctionalInterface
+public interface FloatConsumer {
+    void accept(float value);
+}
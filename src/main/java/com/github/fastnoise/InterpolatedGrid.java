@@ -0,0 +1,133 @@
+package com.github.fastnoise;
+
+/**
+ * Generates a uniform grid by sampling a coarse lattice and interpolating the cells in between.
+ * <p>
+ * Lattice points sit at multiples of the stride in world coordinates, so neighbouring regions generated separately
+ * interpolate from the same lattice and join without seams. The lattice covers one extra point past the end of every
+ * axis, the padding that the last cell interpolates towards.
+ */
+final class InterpolatedGrid {
+    // Lattice layout along one axis, and for every output cell the lattice cell it falls in and its position in it
+    private record Axis(int coarseStart, int coarseSize, int[] cell, float[] t) {
+        static Axis of(int start, int size, int stride) {
+            final int coarseStart = Math.floorDiv(start, stride);
+            final int coarseSize = Math.floorDiv(start + size - 1, stride) - coarseStart + 2;
+            final int[] cell = new int[size];
+            final float[] t = new float[size];
+            for (int i = 0; i < size; i++) {
+                cell[i] = Math.floorDiv(start + i, stride) - coarseStart;
+                t[i] = Math.floorMod(start + i, stride) / (float) stride;
+            }
+            return new Axis(coarseStart, coarseSize, cell, t);
+        }
+    }
+
+    private InterpolatedGrid() {
+    }
+
+    static void genInterpolatedGrid2D(FastNoise noise, FloatArray noiseOut, int xStart, int yStart, int xSize, int ySize,
+                                      int xStride, int yStride, float frequency, int seed) {
+        checkGrid(noiseOut, (long) xSize * ySize, xStride, yStride);
+        if (xSize == 0 || ySize == 0) {
+            return;
+        }
+        final Axis x = Axis.of(xStart, xSize, xStride);
+        final Axis y = Axis.of(yStart, ySize, yStride);
+
+        final float[] lattice;
+        try (FloatArray coarse = new FloatArray(x.coarseSize * y.coarseSize)) {
+            if (xStride == yStride) {
+                noise.genUniformGrid2D(coarse, x.coarseStart, y.coarseStart, x.coarseSize, y.coarseSize, frequency * xStride, seed, null);
+            } else {
+                try (FloatArray xPos = new FloatArray(coarse.size()); FloatArray yPos = new FloatArray(coarse.size())) {
+                    int i = 0;
+                    for (int cy = 0; cy < y.coarseSize; cy++) {
+                        for (int cx = 0; cx < x.coarseSize; cx++, i++) {
+                            xPos.set(i, (float) (x.coarseStart + cx) * xStride * frequency);
+                            yPos.set(i, (float) (y.coarseStart + cy) * yStride * frequency);
+                        }
+                    }
+                    noise.genPositionArray2D(coarse, xPos, yPos, 0, 0, seed, null);
+                }
+            }
+            lattice = coarse.toArray();
+        }
+
+        final NoiseKernels.Kernels kernels = NoiseKernels.kernels();
+        final float[] row = new float[x.coarseSize];
+        for (int j = 0; j < ySize; j++) {
+            final int base = y.cell[j] * x.coarseSize;
+            kernels.lerp(lattice, base, lattice, base + x.coarseSize, row, x.coarseSize, y.t[j]);
+            kernels.expand(row, x.cell, x.t, noiseOut.getSegment(), j * xSize, xSize);
+        }
+    }
+
+    static void genInterpolatedGrid3D(FastNoise noise, FloatArray noiseOut, int xStart, int yStart, int zStart, int xSize, int ySize, int zSize,
+                                      int xStride, int yStride, int zStride, float frequency, int seed) {
+        checkGrid(noiseOut, (long) xSize * ySize * zSize, xStride, yStride);
+        checkStride(zStride);
+        if (xSize == 0 || ySize == 0 || zSize == 0) {
+            return;
+        }
+        final Axis x = Axis.of(xStart, xSize, xStride);
+        final Axis y = Axis.of(yStart, ySize, yStride);
+        final Axis z = Axis.of(zStart, zSize, zStride);
+
+        final float[] lattice;
+        try (FloatArray coarse = new FloatArray(x.coarseSize * y.coarseSize * z.coarseSize)) {
+            if (xStride == yStride && yStride == zStride) {
+                noise.genUniformGrid3D(coarse, x.coarseStart, y.coarseStart, z.coarseStart, x.coarseSize, y.coarseSize, z.coarseSize, frequency * xStride, seed, null);
+            } else {
+                // A uniform grid has one frequency for all axes, uneven strides need explicit lattice positions
+                try (FloatArray xPos = new FloatArray(coarse.size());
+                     FloatArray yPos = new FloatArray(coarse.size());
+                     FloatArray zPos = new FloatArray(coarse.size())) {
+                    int i = 0;
+                    for (int cz = 0; cz < z.coarseSize; cz++) {
+                        for (int cy = 0; cy < y.coarseSize; cy++) {
+                            for (int cx = 0; cx < x.coarseSize; cx++, i++) {
+                                xPos.set(i, (float) (x.coarseStart + cx) * xStride * frequency);
+                                yPos.set(i, (float) (y.coarseStart + cy) * yStride * frequency);
+                                zPos.set(i, (float) (z.coarseStart + cz) * zStride * frequency);
+                            }
+                        }
+                    }
+                    noise.genPositionArray3D(coarse, xPos, yPos, zPos, 0, 0, 0, seed, null);
+                }
+            }
+            lattice = coarse.toArray();
+        }
+
+        // Blend the four lattice rows around each output row along y and z, then expand the blended row along x
+        final NoiseKernels.Kernels kernels = NoiseKernels.kernels();
+        final int rowSize = x.coarseSize;
+        final int sliceSize = rowSize * y.coarseSize;
+        final float[] near = new float[rowSize];
+        final float[] far = new float[rowSize];
+        final float[] row = new float[rowSize];
+        for (int k = 0; k < zSize; k++) {
+            for (int j = 0; j < ySize; j++) {
+                final int base = z.cell[k] * sliceSize + y.cell[j] * rowSize;
+                kernels.lerp(lattice, base, lattice, base + rowSize, near, rowSize, y.t[j]);
+                kernels.lerp(lattice, base + sliceSize, lattice, base + sliceSize + rowSize, far, rowSize, y.t[j]);
+                kernels.lerp(near, 0, far, 0, row, rowSize, z.t[k]);
+                kernels.expand(row, x.cell, x.t, noiseOut.getSegment(), (k * ySize + j) * xSize, xSize);
+            }
+        }
+    }
+
+    private static void checkGrid(FloatArray noiseOut, long required, int xStride, int yStride) {
+        checkStride(xStride);
+        checkStride(yStride);
+        if (noiseOut.size() < required) {
+            throw new IllegalArgumentException("Output array too small: " + noiseOut.size() + " < " + required);
+        }
+    }
+
+    private static void checkStride(int stride) {
+        if (stride < 1) {
+            throw new IllegalArgumentException("Stride must be positive: " + stride);
+        }
+    }
+}
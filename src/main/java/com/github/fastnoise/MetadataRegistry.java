@@ -0,0 +1,250 @@
+package com.github.fastnoise;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.github.fastnoise.FastNoise.*;
+
+/**
+ * Node metadata exposed by the native library.
+ * <p>
+ * Node names are read when the registry is first used, the members of a node type are only read from the native
+ * library when that type is first created. If a metadata snapshot matching the native library is found, the whole
+ * table is read from it in one go instead. Snapshots are looked up by library hash as
+ * {@code <hash>.fnmeta} in the directory named by the {@code fastnoise_metadata_path} system property,
+ * then as the classpath resource {@code fastnoise-metadata/<hash>.fnmeta}.
+ */
+final class MetadataRegistry {
+    private static final String METADATA_PATH = System.getProperty("fastnoise_metadata_path", "");
+    private static final int SNAPSHOT_MAGIC = 0x464E4D44; // "FNMD"
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private static final AtomicReferenceArray<FastNoise.Metadata> metadata;
+    private static final Map<String, Integer> nameLookup;
+
+    static {
+        final FastNoise.Metadata[] snapshot = readSnapshot();
+        if (snapshot != null) {
+            metadata = new AtomicReferenceArray<>(snapshot);
+        } else {
+            metadata = new AtomicReferenceArray<>(fnGetMetadataCount());
+        }
+
+        nameLookup = new HashMap<>(metadata.length());
+        for (int id = 0; id < metadata.length(); id++) {
+            nameLookup.put(snapshot != null ? snapshot[id].name : formatLookup(fnGetMetadataName(id)), id);
+        }
+    }
+
+    private MetadataRegistry() {
+    }
+
+    static int count() {
+        return metadata.length();
+    }
+
+    // Returns the id of the node type with the given formatted name, or null
+    static Integer lookup(String formattedName) {
+        return nameLookup.get(formattedName);
+    }
+
+    static FastNoise.Metadata get(int id) {
+        final FastNoise.Metadata loaded = metadata.get(id);
+        if (loaded != null) {
+            return loaded;
+        }
+        // Racing threads build identical metadata, the first one to finish wins
+        metadata.compareAndSet(id, null, load(id));
+        return metadata.get(id);
+    }
+
+    // Reads the metadata of one node type from the native library
+    static FastNoise.Metadata load(int id) {
+        FastNoise.Metadata metadata = new FastNoise.Metadata();
+        metadata.setId(id);
+        metadata.setName(formatLookup(fnGetMetadataName(id)));
+
+        int variableCount = fnGetMetadataVariableCount(id);
+        int nodeLookupCount = fnGetMetadataNodeLookupCount(id);
+        int hybridCount = fnGetMetadataHybridCount(id);
+        metadata.setMembers(new HashMap<>(variableCount + nodeLookupCount + hybridCount));
+
+        // Init variables
+        for (int variableIdx = 0; variableIdx < variableCount; variableIdx++) {
+            FastNoise.Metadata.Member member = new FastNoise.Metadata.Member();
+
+            member.setName(formatLookup(fnGetMetadataVariableName(id, variableIdx)));
+            member.setType(FastNoise.Metadata.Member.Type.values()[fnGetMetadataVariableType(id, variableIdx)]);
+            member.setIndex(variableIdx);
+
+            member.setName(formatDimensionMember(member.getName(), fnGetMetadataVariableDimensionIdx(id, variableIdx)));
+
+            // Get enum names
+            if (member.getType() == FastNoise.Metadata.Member.Type.Enum) {
+                int enumCount = fnGetMetadataEnumCount(id, variableIdx);
+                HashMap<String, Integer> enumNames = new HashMap<>(enumCount);
+
+                for (int enumIdx = 0; enumIdx < enumCount; enumIdx++) {
+                    enumNames.put(formatLookup(fnGetMetadataEnumName(id, variableIdx, enumIdx)), enumIdx);
+                }
+                member.setEnumNames(enumNames);
+            }
+
+            metadata.getMembers().put(member.getName(), member);
+        }
+
+        // Init node lookups
+        for (int nodeLookupIdx = 0; nodeLookupIdx < nodeLookupCount; nodeLookupIdx++) {
+            FastNoise.Metadata.Member member = new FastNoise.Metadata.Member();
+
+            member.setName(formatLookup(fnGetMetadataNodeLookupName(id, nodeLookupIdx)));
+            member.setType(FastNoise.Metadata.Member.Type.NodeLookup);
+            member.setIndex(nodeLookupIdx);
+
+            member.setName(formatDimensionMember(member.getName(), fnGetMetadataNodeLookupDimensionIdx(id, nodeLookupIdx)));
+
+            metadata.getMembers().put(member.getName(), member);
+        }
+
+        // Init hybrids
+        for (int hybridIdx = 0; hybridIdx < hybridCount; hybridIdx++) {
+            FastNoise.Metadata.Member member = new FastNoise.Metadata.Member();
+
+            member.setName(formatLookup(fnGetMetadataHybridName(id, hybridIdx)));
+            member.setType(FastNoise.Metadata.Member.Type.Hybrid);
+            member.setIndex(hybridIdx);
+
+            member.setName(formatDimensionMember(member.getName(), fnGetMetadataHybridDimensionIdx(id, hybridIdx)));
+
+            metadata.getMembers().put(member.getName(), member);
+        }
+        return indexMembers(metadata);
+    }
+
+    // Numbers the members in name order and builds the enum value tables used to record member values on nodes
+    private static FastNoise.Metadata indexMembers(FastNoise.Metadata metadata) {
+        final FastNoise.Metadata.Member[] slots = metadata.members.values().toArray(new FastNoise.Metadata.Member[0]);
+        Arrays.sort(slots, Comparator.comparing(member -> member.name));
+        for (int slot = 0; slot < slots.length; slot++) {
+            final FastNoise.Metadata.Member member = slots[slot];
+            member.slot = slot;
+            member.enumValues = new String[member.enumNames.size()];
+            member.enumNames.forEach((value, ordinal) -> member.enumValues[ordinal] = value);
+        }
+        metadata.slots = slots;
+        return metadata;
+    }
+
+    private static String formatDimensionMember(String name, int dimIdx) {
+        if (dimIdx >= 0) {
+            char[] dimSuffix = {'x', 'y', 'z', 'w'};
+            name += dimSuffix[dimIdx];
+        }
+        return name;
+    }
+
+    private static String snapshotName() {
+        return nativeLibHash() + ".fnmeta";
+    }
+
+    // Writes the full metadata table into directory and returns the snapshot file
+    static Path writeSnapshot(Path directory) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeUTF(nativeLibHash());
+            out.writeInt(count());
+            for (int id = 0; id < count(); id++) {
+                final FastNoise.Metadata node = get(id);
+                out.writeUTF(node.name);
+                out.writeInt(node.members.size());
+                for (FastNoise.Metadata.Member member : node.members.values()) {
+                    out.writeUTF(member.name);
+                    out.writeByte(member.type.ordinal());
+                    out.writeInt(member.index);
+                    out.writeInt(member.enumNames.size());
+                    for (var enumName : member.enumNames.entrySet()) {
+                        out.writeUTF(enumName.getKey());
+                        out.writeInt(enumName.getValue());
+                    }
+                }
+            }
+        }
+
+        Files.createDirectories(directory);
+        final Path file = directory.resolve(snapshotName());
+        final Path temp = Files.createTempFile(directory, "fnmeta-", ".tmp");
+        Files.write(temp, bytes.toByteArray());
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return file;
+    }
+
+    // A missing, stale or unreadable snapshot is not an error, metadata is then read from the native library
+    private static FastNoise.Metadata[] readSnapshot() {
+        try {
+            final byte[] bytes = findSnapshot();
+            return bytes == null ? null : readSnapshot(bytes);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // Returns null if the snapshot is malformed or was written for another native library
+    static FastNoise.Metadata[] readSnapshot(byte[] bytes) {
+        try {
+            final DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION || !in.readUTF().equals(nativeLibHash())) {
+                return null;
+            }
+
+            final FastNoise.Metadata[] nodes = new FastNoise.Metadata[in.readInt()];
+            for (int id = 0; id < nodes.length; id++) {
+                final FastNoise.Metadata node = new FastNoise.Metadata();
+                node.setId(id);
+                node.setName(in.readUTF());
+                final int memberCount = in.readInt();
+                node.setMembers(new HashMap<>(memberCount));
+                for (int i = 0; i < memberCount; i++) {
+                    final FastNoise.Metadata.Member member = new FastNoise.Metadata.Member();
+                    member.setName(in.readUTF());
+                    member.setType(FastNoise.Metadata.Member.Type.values()[in.readByte()]);
+                    member.setIndex(in.readInt());
+                    final int enumCount = in.readInt();
+                    final HashMap<String, Integer> enumNames = new HashMap<>(enumCount);
+                    for (int e = 0; e < enumCount; e++) {
+                        enumNames.put(in.readUTF(), in.readInt());
+                    }
+                    member.setEnumNames(enumNames);
+                    node.getMembers().put(member.getName(), member);
+                }
+                nodes[id] = indexMembers(node);
+            }
+            return nodes;
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static byte[] findSnapshot() throws IOException {
+        if (METADATA_PATH.isEmpty()) {
+            try (InputStream resource = MetadataRegistry.class.getClassLoader().getResourceAsStream("fastnoise-metadata/" + snapshotName())) {
+                return resource == null ? null : resource.readAllBytes();
+            }
+        }
+        final Path file = Path.of(METADATA_PATH).resolve(snapshotName());
+        if (Files.isRegularFile(file)) {
+            return Files.readAllBytes(file);
+        }
+        try (InputStream resource = MetadataRegistry.class.getClassLoader().getResourceAsStream("fastnoise-metadata/" + snapshotName())) {
+            return resource == null ? null : resource.readAllBytes();
+        }
+    }
+}
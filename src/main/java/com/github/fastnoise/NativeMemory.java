@@ -0,0 +1,35 @@
+package com.github.fastnoise;
+
+import java.lang.foreign.Arena;
+import java.lang.ref.Cleaner;
+
+// Ownership of the arena behind an off-heap array. All array types register with one Cleaner, so they share a single
+// cleaner thread.
+final class NativeMemory {
+    private static final Cleaner cleaner = Cleaner.create();
+
+    private NativeMemory() {
+    }
+
+    // Closes the arena when the owning array is closed or becomes unreachable
+    static final class Owner implements Runnable {
+        final Arena memory;
+        // Set once ownership of the memory has moved to another array
+        volatile boolean transferred;
+
+        Owner(Arena memory) {
+            this.memory = memory;
+        }
+
+        @Override
+        public void run() {
+            if (!transferred) {
+                memory.close();
+            }
+        }
+    }
+
+    static Cleaner.Cleanable register(Object array, Owner owner) {
+        return cleaner.register(array, owner);
+    }
+}
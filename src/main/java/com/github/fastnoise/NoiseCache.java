@@ -0,0 +1,134 @@
+package com.github.fastnoise;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caches generated regions so repeated requests for the same noise are copied instead of regenerated.
+ * <p>
+ * Entries are keyed by the graph description of the {@link FastNoise} (see {@code FastNoise.graphKey}), the region,
+ * frequency and seed, so setting any member of a graph stops it from matching older entries. Cached samples live
+ * off-heap and the least recently used entries are evicted once their total size exceeds the byte budget.
+ * The cache is safe to use from multiple threads.
+ */
+public class NoiseCache {
+    private record Key(String graph, NoiseRegion region, int frequencyBits, int seed) {
+    }
+
+    private record Entry(FloatArray samples, float min, float max) {
+        long byteSize() {
+            return samples.getSegment().byteSize();
+        }
+    }
+
+    private final long maxBytes;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public NoiseCache(long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Cache budget must be positive: " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    public FastNoise.OutputMinMax genUniformGrid2D(FastNoise noise, FloatArray noiseOut, int xStart, int yStart, int xSize, int ySize, float frequency, int seed) {
+        return generate(noise, NoiseRegion.uniformGrid2D(xStart, yStart, xSize, ySize), noiseOut, frequency, seed);
+    }
+
+    public FastNoise.OutputMinMax genUniformGrid3D(FastNoise noise, FloatArray noiseOut, int xStart, int yStart, int zStart, int xSize, int ySize, int zSize, float frequency, int seed) {
+        return generate(noise, NoiseRegion.uniformGrid3D(xStart, yStart, zStart, xSize, ySize, zSize), noiseOut, frequency, seed);
+    }
+
+    public FastNoise.OutputMinMax genUniformGrid4D(FastNoise noise, FloatArray noiseOut, int xStart, int yStart, int zStart, int wStart, int xSize, int ySize, int zSize, int wSize, float frequency, int seed) {
+        return generate(noise, NoiseRegion.uniformGrid4D(xStart, yStart, zStart, wStart, xSize, ySize, zSize, wSize), noiseOut, frequency, seed);
+    }
+
+    public FastNoise.OutputMinMax genTileable2D(FastNoise noise, FloatArray noiseOut, int xSize, int ySize, float frequency, int seed) {
+        return generate(noise, NoiseRegion.tileable2D(xSize, ySize), noiseOut, frequency, seed);
+    }
+
+    public FastNoise.OutputMinMax generate(FastNoise noise, NoiseRegion region, FloatArray noiseOut, float frequency, int seed) {
+        final Key key = new Key(noise.graphKey(), region, Float.floatToIntBits(frequency), seed);
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry != null) {
+            hits.increment();
+            // Cached samples come from auto arenas, so an entry evicted meanwhile is still safe to read
+            final MemorySegment samples = entry.samples().getSegment();
+            if (noiseOut.size() < entry.samples().size()) {
+                throw new IllegalArgumentException("Output array too small: " + noiseOut.size() + " < " + entry.samples().size());
+            }
+            MemorySegment.copy(samples, 0, noiseOut.getSegment(), 0, samples.byteSize());
+            return new FastNoise.OutputMinMax(entry.min(), entry.max());
+        }
+
+        misses.increment();
+        final FastNoise.OutputMinMax minMax = region.generate(noise, noiseOut, frequency, seed);
+        final long byteSize = region.pointCount() * ValueLayout.JAVA_FLOAT.byteSize();
+        if (byteSize <= maxBytes) {
+            final FloatArray samples = FloatArray.auto((int) region.pointCount());
+            MemorySegment.copy(noiseOut.getSegment(), 0, samples.getSegment(), 0, byteSize);
+            put(key, new Entry(samples, minMax.min, minMax.max));
+        }
+        return minMax;
+    }
+
+    private void put(Key key, Entry entry) {
+        synchronized (entries) {
+            final Entry previous = entries.put(key, entry);
+            if (previous != null) {
+                usedBytes -= previous.byteSize();
+            }
+            usedBytes += entry.byteSize();
+
+            final Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+            while (usedBytes > maxBytes && eldest.hasNext()) {
+                usedBytes -= eldest.next().getValue().byteSize();
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            usedBytes = 0;
+        }
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    public long sizeBytes() {
+        synchronized (entries) {
+            return usedBytes;
+        }
+    }
+
+    public int entryCount() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+}
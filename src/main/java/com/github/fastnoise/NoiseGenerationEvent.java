@@ -0,0 +1,36 @@
+package com.github.fastnoise;
+
+import jdk.jfr.*;
+
+/**
+ * Flight Recorder event emitted around every bulk generation call into the native library.
+ */
+@Name("com.github.fastnoise.Generation")
+@Label("Noise Generation")
+@Category("FastNoise")
+@Description("A bulk noise generation call into the native library")
+@StackTrace(false)
+class NoiseGenerationEvent extends Event {
+    @Label("Operation")
+    String operation;
+
+    @Label("Node Type")
+    String nodeType;
+
+    @Label("Dimensions")
+    int dimensions;
+
+    @Label("Point Count")
+    long pointCount;
+
+    @Label("SIMD Level")
+    String simdLevel;
+
+    // Zero for position arrays, they are sampled at the given coordinates
+    @Label("Frequency")
+    float frequency;
+
+    // The call threw, e.g. because an argument was not accessible from the calling thread
+    @Label("Failed")
+    boolean failed;
+}
@@ -0,0 +1,133 @@
+package com.github.fastnoise;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A frozen copy of a node graph that any number of threads may generate from at the same time.
+ * <p>
+ * The graph is rebuilt from the member values recorded on the source nodes, so later changes to the source do not
+ * reach it, and every node of the copy rejects {@code set} with an {@link IllegalStateException}. The native library
+ * only reads a graph while generating, so {@link #shared()} can be used from all threads at once. {@link #local()}
+ * gives each thread its own native copy for callers that want no native state shared between threads. All copies
+ * are released when the graph is closed.
+ */
+public class NoiseGraph implements AutoCloseable {
+    private final SIMDLevel simdLevel;
+    private final String graphKey;
+    private final FastNoise shared;
+    // Every native node created for this graph, shared and thread-local copies alike
+    private final Queue<FastNoise> nodes = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<FastNoise> local;
+    private volatile boolean closed;
+
+    private NoiseGraph(FastNoise source) {
+        this.simdLevel = source.simdLevel();
+        this.graphKey = source.graphKey();
+        this.shared = copy(source);
+        // Thread-local copies are taken from the frozen copy, the caller may change or close the source meanwhile
+        this.local = ThreadLocal.withInitial(() -> copy(shared));
+    }
+
+    // Copies the graph rooted at root, root itself stays mutable and owned by the caller
+    public static NoiseGraph of(FastNoise root) {
+        return new NoiseGraph(root);
+    }
+
+    public static NoiseGraph fromEncodedNodeTree(String encodedNodeTree) {
+        final FastNoise root = FastNoise.fromEncodedNodeTree(encodedNodeTree);
+        if (root == null) {
+            throw new IllegalArgumentException("Invalid encoded node tree: " + encodedNodeTree);
+        }
+        try {
+            return new NoiseGraph(root);
+        } finally {
+            root.close();
+        }
+    }
+
+    // Root of the frozen graph, safe to generate from on any thread
+    public FastNoise shared() {
+        checkOpen();
+        return shared;
+    }
+
+    // A frozen copy of the graph owned by the calling thread, created on the thread's first call
+    public FastNoise local() {
+        checkOpen();
+        return local.get();
+    }
+
+    public SIMDLevel simdLevel() {
+        return simdLevel;
+    }
+
+    String graphKey() {
+        return graphKey;
+    }
+
+    private FastNoise copy(FastNoise root) {
+        checkOpen();
+        final List<FastNoise> created = new ArrayList<>();
+        try {
+            final FastNoise copy = copy(root, new IdentityHashMap<>(), created);
+            for (FastNoise node : created) {
+                node.freeze();
+            }
+            nodes.addAll(created);
+            return copy;
+        } catch (RuntimeException e) {
+            for (FastNoise node : created) {
+                node.release();
+            }
+            throw e;
+        }
+    }
+
+    // Nodes referenced from several places in the source stay shared in the copy
+    private FastNoise copy(FastNoise node, Map<FastNoise, FastNoise> copies, List<FastNoise> created) {
+        final FastNoise existing = copies.get(node);
+        if (existing != null) {
+            return existing;
+        }
+        final FastNoise copy = node.encodedNodeTree() != null
+                ? FastNoise.fromEncodedNodeTree(node.encodedNodeTree(), simdLevel)
+                : new FastNoise(MetadataRegistry.get(node.metadataId()).name, simdLevel);
+        if (copy == null) {
+            throw new ExternalLibraryException("Failed to copy encoded node tree");
+        }
+        created.add(copy);
+        copies.put(node, copy);
+
+        for (var member : node.memberValues().entrySet()) {
+            switch (member.getValue()) {
+                case Float value -> copy.set(member.getKey(), value);
+                case Integer value -> copy.set(member.getKey(), value);
+                case String enumValue -> copy.set(member.getKey(), enumValue);
+                case FastNoise lookup -> copy.set(member.getKey(), copy(lookup, copies, created));
+                default -> throw new IllegalStateException("Unexpected member value: " + member.getValue());
+            }
+        }
+        return copy;
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("NoiseGraph is closed");
+        }
+    }
+
+    // No thread may generate from the graph or its thread-local copies once it is closed
+    @Override
+    public void close() {
+        closed = true;
+        FastNoise node;
+        while ((node = nodes.poll()) != null) {
+            node.release();
+        }
+    }
+}
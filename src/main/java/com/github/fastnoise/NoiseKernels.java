@@ -0,0 +1,117 @@
+package com.github.fastnoise;
+
+import java.lang.foreign.MemorySegment;
+
+/**
+ * Post-processing kernels for generated noise: normalize, clamp, affine transform, abs, threshold and pow.
+ * <p>
+ * Each kernel reads {@code src} and writes {@code dst}, which may be the same array for in-place processing.
+ * When the JVM runs with {@code --add-modules jdk.incubator.vector} the kernels use the Vector API, otherwise they
+ * fall back to scalar loops. Setting the system property {@code fastnoise_disable_vector} forces the scalar path.
+ */
+public final class NoiseKernels {
+    interface Kernels {
+        void affine(MemorySegment src, MemorySegment dst, int count, float scale, float offset);
+
+        void clamp(MemorySegment src, MemorySegment dst, int count, float min, float max);
+
+        void abs(MemorySegment src, MemorySegment dst, int count);
+
+        void threshold(MemorySegment src, MemorySegment dst, int count, float threshold, float below, float above);
+
+        void pow(MemorySegment src, MemorySegment dst, int count, float exponent);
+
+        // dst[i] = a[aIndex + i] + (b[bIndex + i] - a[aIndex + i]) * t
+        void lerp(float[] a, int aIndex, float[] b, int bIndex, float[] dst, int count, float t);
+
+        // dst[dstIndex + i] = lerp(row[cell[i]], row[cell[i] + 1], t[i])
+        void expand(float[] row, int[] cell, float[] t, MemorySegment dst, int dstIndex, int count);
+    }
+
+    private static final Kernels kernels = loadKernels();
+
+    private NoiseKernels() {
+    }
+
+    // VectorKernels lives in its own source set, the only one compiled against the incubator module, so it is looked
+    // up by name
+    private static Kernels loadKernels() {
+        if (!Boolean.getBoolean("fastnoise_disable_vector")
+                && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (Kernels) Class.forName("com.github.fastnoise.VectorKernels").getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Classes built without the vector source set, use the scalar loops
+            }
+        }
+        return new ScalarKernels();
+    }
+
+    static Kernels kernels() {
+        return kernels;
+    }
+
+    public static boolean isVectorized() {
+        return !(kernels instanceof ScalarKernels);
+    }
+
+    // Maps [minMax.min, minMax.max] onto [min, max], a flat input maps to min
+    public static void normalize(FloatArray src, FloatArray dst, FastNoise.OutputMinMax minMax, float min, float max) {
+        final float range = minMax.max - minMax.min;
+        final float scale = range > 0 ? (max - min) / range : 0;
+        affine(src, dst, scale, min - minMax.min * scale);
+    }
+
+    public static void normalize(FloatArray array, FastNoise.OutputMinMax minMax, float min, float max) {
+        normalize(array, array, minMax, min, max);
+    }
+
+    // dst = src * scale + offset
+    public static void affine(FloatArray src, FloatArray dst, float scale, float offset) {
+        kernels.affine(src.getSegment(), dst.getSegment(), checkSizes(src, dst), scale, offset);
+    }
+
+    public static void affine(FloatArray array, float scale, float offset) {
+        affine(array, array, scale, offset);
+    }
+
+    public static void clamp(FloatArray src, FloatArray dst, float min, float max) {
+        kernels.clamp(src.getSegment(), dst.getSegment(), checkSizes(src, dst), min, max);
+    }
+
+    public static void clamp(FloatArray array, float min, float max) {
+        clamp(array, array, min, max);
+    }
+
+    public static void abs(FloatArray src, FloatArray dst) {
+        kernels.abs(src.getSegment(), dst.getSegment(), checkSizes(src, dst));
+    }
+
+    public static void abs(FloatArray array) {
+        abs(array, array);
+    }
+
+    // dst = src < threshold ? below : above
+    public static void threshold(FloatArray src, FloatArray dst, float threshold, float below, float above) {
+        kernels.threshold(src.getSegment(), dst.getSegment(), checkSizes(src, dst), threshold, below, above);
+    }
+
+    public static void threshold(FloatArray array, float threshold, float below, float above) {
+        threshold(array, array, threshold, below, above);
+    }
+
+    public static void pow(FloatArray src, FloatArray dst, float exponent) {
+        kernels.pow(src.getSegment(), dst.getSegment(), checkSizes(src, dst), exponent);
+    }
+
+    public static void pow(FloatArray array, float exponent) {
+        pow(array, array, exponent);
+    }
+
+    private static int checkSizes(FloatArray src, FloatArray dst) {
+        if (dst.size() < src.size()) {
+            throw new IllegalArgumentException("Destination too small: " + dst.size() + " < " + src.size());
+        }
+        return src.size();
+    }
+}
@@ -0,0 +1,136 @@
+package com.github.fastnoise;
+
+import java.util.Map;
+
+/**
+ * A member of a node resolved once by {@link FastNoise#member(String)}.
+ * <p>
+ * The member name, type, native index and value slot are looked up when the handle is created, so setting a value
+ * through the handle goes straight to the native setter and records the value by slot without any name lookup.
+ * Useful for parameters that change every frame.
+ */
+public abstract sealed class NoiseMember permits NoiseMember.FloatMember, NoiseMember.IntMember, NoiseMember.EnumMember, NoiseMember.NodeMember {
+    final FastNoise node;
+    final String name;
+    final int index;
+    final int slot;
+
+    private NoiseMember(FastNoise node, FastNoise.Metadata.Member member) {
+        this.node = node;
+        this.name = member.name;
+        this.index = member.index;
+        this.slot = member.slot;
+    }
+
+    static NoiseMember of(FastNoise node, FastNoise.Metadata.Member member) {
+        return switch (member.type) {
+            case Float -> new FloatMember(node, member, false);
+            case Int -> new IntMember(node, member);
+            case Enum -> new EnumMember(node, member);
+            case NodeLookup -> new NodeMember(node, member, false);
+            // Hybrids are most often driven by a float, nodeMember() binds them to a node instead
+            case Hybrid -> new FloatMember(node, member, true);
+        };
+    }
+
+    public FastNoise node() {
+        return node;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public static final class FloatMember extends NoiseMember {
+        private final boolean hybrid;
+
+        FloatMember(FastNoise node, FastNoise.Metadata.Member member, boolean hybrid) {
+            super(node, member);
+            this.hybrid = hybrid;
+        }
+
+        public void set(float value) {
+            node.checkMutable();
+            final boolean set = hybrid
+                    ? FastNoise.fnSetHybridFloat(node.nodeHandle(), index, value)
+                    : FastNoise.fnSetVariableFloat(node.nodeHandle(), index, value);
+            if (!set) {
+                throw new ExternalLibraryException("Failed to set float value");
+            }
+            node.recordValue(slot, Float.floatToRawIntBits(value));
+        }
+    }
+
+    public static final class IntMember extends NoiseMember {
+        IntMember(FastNoise node, FastNoise.Metadata.Member member) {
+            super(node, member);
+        }
+
+        public void set(int value) {
+            node.checkMutable();
+            if (!FastNoise.fnSetVariableIntEnum(node.nodeHandle(), index, value)) {
+                throw new ExternalLibraryException("Failed to set int value");
+            }
+            node.recordValue(slot, value);
+        }
+    }
+
+    public static final class EnumMember extends NoiseMember {
+        private final Map<String, Integer> ordinals;
+        private final int valueCount;
+
+        EnumMember(FastNoise node, FastNoise.Metadata.Member member) {
+            super(node, member);
+            this.ordinals = Map.copyOf(member.enumNames);
+            this.valueCount = member.enumValues.length;
+        }
+
+        // Resolves an enum value name once, pass the result to set(int) on the hot path
+        public int ordinal(String enumValue) {
+            final Integer ordinal = ordinals.get(FastNoise.formatLookup(enumValue));
+            if (ordinal == null) {
+                throw new IllegalArgumentException("Failed to find enum value: " + enumValue);
+            }
+            return ordinal;
+        }
+
+        public int valueCount() {
+            return valueCount;
+        }
+
+        public void set(int ordinal) {
+            node.checkMutable();
+            if (ordinal < 0 || ordinal >= valueCount) {
+                throw new IllegalArgumentException("Enum ordinal out of range: " + ordinal);
+            }
+            if (!FastNoise.fnSetVariableIntEnum(node.nodeHandle(), index, ordinal)) {
+                throw new ExternalLibraryException("Failed to set enum value");
+            }
+            node.recordValue(slot, ordinal);
+        }
+
+        public void set(String enumValue) {
+            set(ordinal(enumValue));
+        }
+    }
+
+    public static final class NodeMember extends NoiseMember {
+        private final boolean hybrid;
+
+        NodeMember(FastNoise node, FastNoise.Metadata.Member member, boolean hybrid) {
+            super(node, member);
+            this.hybrid = hybrid;
+        }
+
+        public void set(FastNoise nodeLookup) {
+            node.checkMutable();
+            final boolean set = hybrid
+                    ? FastNoise.fnSetHybridNodeLookup(node.nodeHandle(), index, nodeLookup.nodeHandle())
+                    : FastNoise.fnSetNodeLookup(node.nodeHandle(), index, nodeLookup.nodeHandle());
+            if (!set) {
+                throw new ExternalLibraryException("Failed to set node lookup");
+            }
+            node.recordNode(slot, nodeLookup);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.github.fastnoise;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process call counters and latency histograms for every generation call into the native library.
+ * <p>
+ * Disabled by default, a disabled registry costs one volatile read per call. Recording only touches
+ * {@link LongAdder}s, so concurrent generator threads never contend on a lock. Latencies are kept in power-of-two
+ * nanosecond buckets, bucket {@code i} counts calls that took {@code [2^(i-1), 2^i)} nanoseconds.
+ */
+public final class NoiseMetrics {
+    static final long DISABLED = Long.MIN_VALUE;
+    private static final int BUCKETS = 64;
+
+    public enum Operation {
+        GEN_UNIFORM_GRID_2D(2),
+        GEN_UNIFORM_GRID_3D(3),
+        GEN_UNIFORM_GRID_4D(4),
+        GEN_TILEABLE_2D(2),
+        GEN_POSITION_ARRAY_2D(2),
+        GEN_POSITION_ARRAY_3D(3),
+        GEN_POSITION_ARRAY_4D(4),
+        GEN_SINGLE_2D(2),
+        GEN_SINGLE_3D(3),
+        GEN_SINGLE_4D(4);
+
+        final int dimensions;
+
+        Operation(int dimensions) {
+            this.dimensions = dimensions;
+        }
+    }
+
+    // calls includes the failed ones, points only counts points of calls that succeeded
+    public record Snapshot(Operation operation, long calls, long failures, long points, long totalNanos, long[] histogram) {
+        public double meanNanos() {
+            return calls == 0 ? 0 : (double) totalNanos / calls;
+        }
+
+        // Upper bound of the bucket holding the given percentile (0-100) of calls
+        public long percentileNanos(double percentile) {
+            final long rank = (long) Math.ceil(calls * percentile / 100.0);
+            long seen = 0;
+            for (int i = 0; i < histogram.length; i++) {
+                seen += histogram[i];
+                if (seen >= Math.max(rank, 1)) {
+                    return i == BUCKETS - 1 ? Long.MAX_VALUE : 1L << i;
+                }
+            }
+            return 0;
+        }
+    }
+
+    private static final class Counters {
+        final LongAdder calls = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        final LongAdder points = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+        final LongAdder[] histogram = new LongAdder[BUCKETS];
+
+        Counters() {
+            for (int i = 0; i < BUCKETS; i++) {
+                histogram[i] = new LongAdder();
+            }
+        }
+    }
+
+    private static final Counters[] counters = new Counters[Operation.values().length];
+    private static volatile boolean enabled;
+
+    static {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new Counters();
+        }
+    }
+
+    private NoiseMetrics() {
+    }
+
+    public static void enable() {
+        enabled = true;
+    }
+
+    public static void disable() {
+        enabled = false;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    // Start time of a call, or DISABLED when metrics are off
+    static long start() {
+        return enabled ? System.nanoTime() : DISABLED;
+    }
+
+    static void record(Operation operation, long points, long start, boolean failed) {
+        if (start == DISABLED) {
+            return;
+        }
+        final long nanos = Math.max(System.nanoTime() - start, 0);
+        final Counters c = counters[operation.ordinal()];
+        c.calls.increment();
+        if (failed) {
+            c.failures.increment();
+        } else {
+            c.points.add(points);
+        }
+        c.nanos.add(nanos);
+        c.histogram[Math.min(64 - Long.numberOfLeadingZeros(nanos), BUCKETS - 1)].increment();
+    }
+
+    public static Snapshot snapshot(Operation operation) {
+        final Counters c = counters[operation.ordinal()];
+        final long[] histogram = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram[i] = c.histogram[i].sum();
+        }
+        return new Snapshot(operation, c.calls.sum(), c.failures.sum(), c.points.sum(), c.nanos.sum(), histogram);
+    }
+
+    public static Map<Operation, Snapshot> snapshot() {
+        final Map<Operation, Snapshot> snapshots = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            snapshots.put(operation, snapshot(operation));
+        }
+        return snapshots;
+    }
+
+    // Counters are reset one adder at a time, calls recorded concurrently may be partially kept
+    public static void reset() {
+        for (Counters c : counters) {
+            c.calls.reset();
+            c.failures.reset();
+            c.points.reset();
+            c.nanos.reset();
+            for (LongAdder bucket : c.histogram) {
+                bucket.reset();
+            }
+        }
+    }
+}
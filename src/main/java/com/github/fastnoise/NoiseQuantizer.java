@@ -0,0 +1,138 @@
+package com.github.fastnoise;
+
+import java.lang.foreign.MemorySegment;
+
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+import static java.lang.foreign.ValueLayout.JAVA_FLOAT;
+import static java.lang.foreign.ValueLayout.JAVA_SHORT;
+
+/**
+ * Generates noise straight into 8 or 16 bit buffers.
+ * <p>
+ * Uniform grids are generated a few rows (2D) or layers (3D) at a time into a reusable float scratch buffer and
+ * quantized from there, so the full-precision grid never exists in memory. Tileable noise cannot be generated in
+ * parts, the scratch buffer grows to the full grid for it. Each call returns the range that was mapped onto the
+ * quantized values, see {@link Quantization#dequantize}. A quantizer is confined to the thread that created it.
+ */
+public class NoiseQuantizer implements AutoCloseable {
+    @FunctionalInterface
+    private interface TileGenerator {
+        void generate(FloatArray tileOut, int outerStart, int outerSize, FastNoise.OutputMinMax outputMinMax);
+    }
+
+    private FloatArray scratch;
+
+    public NoiseQuantizer() {
+        this(64 * 1024);
+    }
+
+    // scratchSize is the number of floats generated per tile
+    public NoiseQuantizer(int scratchSize) {
+        this.scratch = new FloatArray(Math.max(1, scratchSize));
+    }
+
+    public FastNoise.OutputMinMax genUniformGrid2D(FastNoise noise, ByteArray noiseOut, int xStart, int yStart, int xSize, int ySize, float frequency, int seed, Quantization quantization) {
+        checkOutput(noiseOut.size(), (long) xSize * ySize);
+        return generate(noiseOut.getSegment(), ByteArray.MAX_UNSIGNED, ySize, xSize, quantization, (tileOut, outerStart, outerSize, minMax) ->
+                noise.genUniformGrid2D(tileOut, xStart, yStart + outerStart, xSize, outerSize, frequency, seed, minMax));
+    }
+
+    public FastNoise.OutputMinMax genUniformGrid2D(FastNoise noise, ShortArray noiseOut, int xStart, int yStart, int xSize, int ySize, float frequency, int seed, Quantization quantization) {
+        checkOutput(noiseOut.size(), (long) xSize * ySize);
+        return generate(noiseOut.getSegment(), ShortArray.MAX_UNSIGNED, ySize, xSize, quantization, (tileOut, outerStart, outerSize, minMax) ->
+                noise.genUniformGrid2D(tileOut, xStart, yStart + outerStart, xSize, outerSize, frequency, seed, minMax));
+    }
+
+    public FastNoise.OutputMinMax genUniformGrid3D(FastNoise noise, ByteArray noiseOut, int xStart, int yStart, int zStart, int xSize, int ySize, int zSize, float frequency, int seed, Quantization quantization) {
+        checkOutput(noiseOut.size(), (long) xSize * ySize * zSize);
+        return generate(noiseOut.getSegment(), ByteArray.MAX_UNSIGNED, zSize, xSize * ySize, quantization, (tileOut, outerStart, outerSize, minMax) ->
+                noise.genUniformGrid3D(tileOut, xStart, yStart, zStart + outerStart, xSize, ySize, outerSize, frequency, seed, minMax));
+    }
+
+    public FastNoise.OutputMinMax genUniformGrid3D(FastNoise noise, ShortArray noiseOut, int xStart, int yStart, int zStart, int xSize, int ySize, int zSize, float frequency, int seed, Quantization quantization) {
+        checkOutput(noiseOut.size(), (long) xSize * ySize * zSize);
+        return generate(noiseOut.getSegment(), ShortArray.MAX_UNSIGNED, zSize, xSize * ySize, quantization, (tileOut, outerStart, outerSize, minMax) ->
+                noise.genUniformGrid3D(tileOut, xStart, yStart, zStart + outerStart, xSize, ySize, outerSize, frequency, seed, minMax));
+    }
+
+    public FastNoise.OutputMinMax genTileable2D(FastNoise noise, ByteArray noiseOut, int xSize, int ySize, float frequency, int seed, Quantization quantization) {
+        checkOutput(noiseOut.size(), (long) xSize * ySize);
+        ensureScratch(xSize * ySize);
+        return generate(noiseOut.getSegment(), ByteArray.MAX_UNSIGNED, 1, xSize * ySize, quantization, (tileOut, outerStart, outerSize, minMax) ->
+                noise.genTileable2D(tileOut, xSize, ySize, frequency, seed, minMax));
+    }
+
+    public FastNoise.OutputMinMax genTileable2D(FastNoise noise, ShortArray noiseOut, int xSize, int ySize, float frequency, int seed, Quantization quantization) {
+        checkOutput(noiseOut.size(), (long) xSize * ySize);
+        ensureScratch(xSize * ySize);
+        return generate(noiseOut.getSegment(), ShortArray.MAX_UNSIGNED, 1, xSize * ySize, quantization, (tileOut, outerStart, outerSize, minMax) ->
+                noise.genTileable2D(tileOut, xSize, ySize, frequency, seed, minMax));
+    }
+
+    private FastNoise.OutputMinMax generate(MemorySegment noiseOut, int maxValue, int outerSize, int sliceSize, Quantization quantization, TileGenerator generator) {
+        if (outerSize == 0 || sliceSize == 0) {
+            return new FastNoise.OutputMinMax();
+        }
+        ensureScratch(sliceSize);
+        final int tileOuterSize = Math.min(outerSize, scratch.size() / sliceSize);
+        final FastNoise.OutputMinMax range = new FastNoise.OutputMinMax();
+
+        if (quantization.fromOutputRange()) {
+            if (tileOuterSize == outerSize) {
+                // Whole region fits in one tile, the range is known after a single pass
+                generator.generate(scratch, 0, outerSize, range);
+                quantize(scratch.getSegment(), noiseOut, 0, outerSize * sliceSize, maxValue, range);
+                return range;
+            }
+            final FastNoise.OutputMinMax tileRange = new FastNoise.OutputMinMax();
+            for (int outerStart = 0; outerStart < outerSize; outerStart += tileOuterSize) {
+                final int tileSize = Math.min(tileOuterSize, outerSize - outerStart);
+                generator.generate(scratch.slice(0, tileSize * sliceSize), outerStart, tileSize, tileRange);
+                range.merge(tileRange);
+            }
+        } else {
+            range.min = quantization.min();
+            range.max = quantization.max();
+        }
+
+        for (int outerStart = 0; outerStart < outerSize; outerStart += tileOuterSize) {
+            final int tileSize = Math.min(tileOuterSize, outerSize - outerStart);
+            generator.generate(scratch.slice(0, tileSize * sliceSize), outerStart, tileSize, null);
+            quantize(scratch.getSegment(), noiseOut, (long) outerStart * sliceSize, tileSize * sliceSize, maxValue, range);
+        }
+        return range;
+    }
+
+    private static void quantize(MemorySegment samples, MemorySegment noiseOut, long outOffset, int count, int maxValue, FastNoise.OutputMinMax range) {
+        final float spread = range.max - range.min;
+        final float scale = spread > 0 ? maxValue / spread : 0;
+        final float min = range.min;
+        final boolean bytes = maxValue == ByteArray.MAX_UNSIGNED;
+        for (int i = 0; i < count; i++) {
+            final int value = Math.min(Math.max(Math.round((samples.getAtIndex(JAVA_FLOAT, i) - min) * scale), 0), maxValue);
+            if (bytes) {
+                noiseOut.set(JAVA_BYTE, outOffset + i, (byte) value);
+            } else {
+                noiseOut.setAtIndex(JAVA_SHORT, outOffset + i, (short) value);
+            }
+        }
+    }
+
+    private void ensureScratch(int size) {
+        if (scratch.size() < size) {
+            scratch.close();
+            scratch = new FloatArray(size);
+        }
+    }
+
+    private static void checkOutput(int outputSize, long required) {
+        if (outputSize < required) {
+            throw new IllegalArgumentException("Output array too small: " + outputSize + " < " + required);
+        }
+    }
+
+    @Override
+    public void close() {
+        scratch.close();
+    }
+}
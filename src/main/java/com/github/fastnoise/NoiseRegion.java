@@ -0,0 +1,61 @@
+package com.github.fastnoise;
+
+/**
+ * The bounds of one generation request, as passed to {@link FastNoise#genUniformGrid2D}, {@link FastNoise#genUniformGrid3D},
+ * {@link FastNoise#genUniformGrid4D} or {@link FastNoise#genTileable2D}. Unused axes have start 0 and size 1.
+ */
+public record NoiseRegion(Kind kind,
+                          int xStart, int yStart, int zStart, int wStart,
+                          int xSize, int ySize, int zSize, int wSize) {
+    public enum Kind {
+        UNIFORM_GRID_2D,
+        UNIFORM_GRID_3D,
+        UNIFORM_GRID_4D,
+        TILEABLE_2D
+    }
+
+    public NoiseRegion {
+        if (xSize < 0 || ySize < 0 || zSize < 0 || wSize < 0) {
+            throw new IllegalArgumentException("Negative region size");
+        }
+    }
+
+    public static NoiseRegion uniformGrid2D(int xStart, int yStart, int xSize, int ySize) {
+        return new NoiseRegion(Kind.UNIFORM_GRID_2D, xStart, yStart, 0, 0, xSize, ySize, 1, 1);
+    }
+
+    public static NoiseRegion uniformGrid3D(int xStart, int yStart, int zStart, int xSize, int ySize, int zSize) {
+        return new NoiseRegion(Kind.UNIFORM_GRID_3D, xStart, yStart, zStart, 0, xSize, ySize, zSize, 1);
+    }
+
+    public static NoiseRegion uniformGrid4D(int xStart, int yStart, int zStart, int wStart, int xSize, int ySize, int zSize, int wSize) {
+        return new NoiseRegion(Kind.UNIFORM_GRID_4D, xStart, yStart, zStart, wStart, xSize, ySize, zSize, wSize);
+    }
+
+    public static NoiseRegion tileable2D(int xSize, int ySize) {
+        return new NoiseRegion(Kind.TILEABLE_2D, 0, 0, 0, 0, xSize, ySize, 1, 1);
+    }
+
+    public long pointCount() {
+        return (long) xSize * ySize * zSize * wSize;
+    }
+
+    public FastNoise.OutputMinMax generate(FastNoise noise, FloatArray noiseOut, float frequency, int seed) {
+        final FastNoise.OutputMinMax minMax = new FastNoise.OutputMinMax();
+        generate(noise, noiseOut, frequency, seed, minMax);
+        return minMax;
+    }
+
+    // The output range is not read back when outputMinMax is null, the native side computes it regardless
+    public void generate(FastNoise noise, FloatArray noiseOut, float frequency, int seed, FastNoise.OutputMinMax outputMinMax) {
+        if (noiseOut.size() < pointCount()) {
+            throw new IllegalArgumentException("Output array too small: " + noiseOut.size() + " < " + pointCount());
+        }
+        switch (kind) {
+            case UNIFORM_GRID_2D -> noise.genUniformGrid2D(noiseOut, xStart, yStart, xSize, ySize, frequency, seed, outputMinMax);
+            case UNIFORM_GRID_3D -> noise.genUniformGrid3D(noiseOut, xStart, yStart, zStart, xSize, ySize, zSize, frequency, seed, outputMinMax);
+            case UNIFORM_GRID_4D -> noise.genUniformGrid4D(noiseOut, xStart, yStart, zStart, wStart, xSize, ySize, zSize, wSize, frequency, seed, outputMinMax);
+            case TILEABLE_2D -> noise.genTileable2D(noiseOut, xSize, ySize, frequency, seed, outputMinMax);
+        }
+    }
+}
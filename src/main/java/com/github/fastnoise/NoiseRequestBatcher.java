@@ -0,0 +1,213 @@
+package com.github.fastnoise;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Collects small 2D grid requests and serves them with as few native calls as possible.
+ * <p>
+ * Requests are grouped by node, frequency and seed. Within a group, requests that lie close together are merged into
+ * one uniform grid covering their bounding box as long as that box holds at most {@code maxOverdraw} times the points
+ * actually requested; the remaining scattered requests are generated straight into their own buffers. Either way a
+ * request gets exactly the values a direct {@code genUniformGrid2D} call would give. Results are reported through the
+ * future returned by {@code submit}.
+ * <p>
+ * Pending requests are generated when {@link #flush()} is called, or when {@code maxPending} requests have piled up.
+ * Generation runs on the flushing thread, which must be allowed to write the callers' buffers. Submitting and
+ * flushing are safe from multiple threads.
+ */
+public class NoiseRequestBatcher {
+    private record GroupKey(FastNoise noise, int frequencyBits, int seed) {
+    }
+
+    private static final class Request {
+        final FloatArray noiseOut;
+        final int xStart;
+        final int yStart;
+        final int xSize;
+        final int ySize;
+        final CompletableFuture<NoiseResult> result = new CompletableFuture<>();
+
+        Request(FloatArray noiseOut, int xStart, int yStart, int xSize, int ySize) {
+            this.noiseOut = noiseOut;
+            this.xStart = xStart;
+            this.yStart = yStart;
+            this.xSize = xSize;
+            this.ySize = ySize;
+        }
+
+        long pointCount() {
+            return (long) xSize * ySize;
+        }
+    }
+
+    // Requests merged into one grid call, with the bounding box of all of them
+    private static final class Cluster {
+        final List<Request> requests = new ArrayList<>();
+        int xMin = Integer.MAX_VALUE;
+        int yMin = Integer.MAX_VALUE;
+        int xMax = Integer.MIN_VALUE;
+        int yMax = Integer.MIN_VALUE;
+        long points;
+
+        long areaWith(Request request) {
+            final long width = (long) Math.max(xMax, request.xStart + request.xSize) - Math.min(xMin, request.xStart);
+            final long height = (long) Math.max(yMax, request.yStart + request.ySize) - Math.min(yMin, request.yStart);
+            return width * height;
+        }
+
+        void add(Request request) {
+            requests.add(request);
+            xMin = Math.min(xMin, request.xStart);
+            yMin = Math.min(yMin, request.yStart);
+            xMax = Math.max(xMax, request.xStart + request.xSize);
+            yMax = Math.max(yMax, request.yStart + request.ySize);
+            points += request.pointCount();
+        }
+    }
+
+    // A request is only tried against the most recently opened clusters, which keeps clustering linear in the number
+    // of requests. Requests are sorted by row, so older clusters have mostly been left behind anyway.
+    private static final int CLUSTER_CANDIDATES = 16;
+
+    private final int maxPending;
+    private final float maxOverdraw;
+    private final Map<GroupKey, List<Request>> pending = new HashMap<>();
+    private int pendingCount;
+
+    public NoiseRequestBatcher() {
+        this(1024, 2);
+    }
+
+    public NoiseRequestBatcher(int maxPending, float maxOverdraw) {
+        if (maxPending <= 0) {
+            throw new IllegalArgumentException("Pending limit must be positive: " + maxPending);
+        }
+        if (!(maxOverdraw >= 1)) {
+            throw new IllegalArgumentException("Overdraw must be at least 1: " + maxOverdraw);
+        }
+        this.maxPending = maxPending;
+        this.maxOverdraw = maxOverdraw;
+    }
+
+    // Queues a request, the future completes with noiseOut and its output range once the request has been generated
+    public CompletableFuture<NoiseResult> genUniformGrid2D(FastNoise noise, FloatArray noiseOut, int xStart, int yStart, int xSize, int ySize, float frequency, int seed) {
+        if (xSize < 0 || ySize < 0) {
+            throw new IllegalArgumentException("Negative region size");
+        }
+        if (noiseOut.size() < (long) xSize * ySize) {
+            throw new IllegalArgumentException("Output array too small: " + noiseOut.size() + " < " + (long) xSize * ySize);
+        }
+        final Request request = new Request(noiseOut, xStart, yStart, xSize, ySize);
+        final boolean full;
+        synchronized (pending) {
+            pending.computeIfAbsent(new GroupKey(noise, Float.floatToIntBits(frequency), seed), key -> new ArrayList<>()).add(request);
+            full = ++pendingCount >= maxPending;
+        }
+        if (full) {
+            flush();
+        }
+        return request.result;
+    }
+
+    public int pendingCount() {
+        synchronized (pending) {
+            return pendingCount;
+        }
+    }
+
+    public void flush() {
+        final Map<GroupKey, List<Request>> groups;
+        synchronized (pending) {
+            if (pendingCount == 0) {
+                return;
+            }
+            groups = new HashMap<>(pending);
+            pending.clear();
+            pendingCount = 0;
+        }
+        for (var group : groups.entrySet()) {
+            final GroupKey key = group.getKey();
+            generateGroup(key.noise, Float.intBitsToFloat(key.frequencyBits), key.seed, group.getValue());
+        }
+    }
+
+    private void generateGroup(FastNoise noise, float frequency, int seed, List<Request> requests) {
+        // Greedily grow clusters in row order, a request joins the first recent cluster it keeps dense enough
+        requests.sort(Comparator.comparingInt((Request r) -> r.yStart).thenComparingInt(r -> r.xStart));
+        final List<Cluster> clusters = new ArrayList<>();
+        for (Request request : requests) {
+            Cluster target = null;
+            for (Cluster cluster : clusters.subList(Math.max(0, clusters.size() - CLUSTER_CANDIDATES), clusters.size())) {
+                if (cluster.areaWith(request) <= maxOverdraw * (cluster.points + request.pointCount())) {
+                    target = cluster;
+                    break;
+                }
+            }
+            if (target == null) {
+                target = new Cluster();
+                clusters.add(target);
+            }
+            target.add(request);
+        }
+
+        for (Cluster cluster : clusters) {
+            if (cluster.requests.size() > 1) {
+                generateCluster(noise, frequency, seed, cluster);
+            } else {
+                // A lone request costs one native call either way, generating it directly also gets its range for free
+                final Request request = cluster.requests.getFirst();
+                complete(request, () -> noise.genUniformGrid2D(request.noiseOut, request.xStart, request.yStart, request.xSize, request.ySize, frequency, seed));
+            }
+        }
+    }
+
+    private static void generateCluster(FastNoise noise, float frequency, int seed, Cluster cluster) {
+        final int width = cluster.xMax - cluster.xMin;
+        final int height = cluster.yMax - cluster.yMin;
+        try (FloatArray merged = new FloatArray(Math.toIntExact((long) width * height))) {
+            noise.genUniformGrid2D(merged, cluster.xMin, cluster.yMin, width, height, frequency, seed, null);
+            for (Request request : cluster.requests) {
+                complete(request, () -> {
+                    final long floatSize = ValueLayout.JAVA_FLOAT.byteSize();
+                    for (int row = 0; row < request.ySize; row++) {
+                        final long src = (long) (request.yStart - cluster.yMin + row) * width + (request.xStart - cluster.xMin);
+                        MemorySegment.copy(merged.getSegment(), src * floatSize,
+                                request.noiseOut.getSegment(), (long) row * request.xSize * floatSize, request.xSize * floatSize);
+                    }
+                    return outputMinMax(request);
+                });
+            }
+        } catch (RuntimeException e) {
+            for (Request request : cluster.requests) {
+                request.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    // The native range covers the whole merged box, each request's own range needs a pass over its part
+    private static FastNoise.OutputMinMax outputMinMax(Request request) {
+        final FastNoise.OutputMinMax minMax = new FastNoise.OutputMinMax();
+        request.noiseOut.forEachFloat(0, Math.toIntExact(request.pointCount()), value -> {
+            minMax.min = Math.min(minMax.min, value);
+            minMax.max = Math.max(minMax.max, value);
+        });
+        return minMax;
+    }
+
+    @FunctionalInterface
+    private interface Generation {
+        FastNoise.OutputMinMax run();
+    }
+
+    // A failure in one caller's buffer, such as a confined buffer of another thread, only fails that caller
+    private static void complete(Request request, Generation generation) {
+        try {
+            request.result.complete(new NoiseResult(request.noiseOut, generation.run()));
+        } catch (RuntimeException e) {
+            request.result.completeExceptionally(e);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.github.fastnoise;
+
+/**
+ * Output of an asynchronous generation call: the buffer the noise was written to and its output range.
+ */
+public record NoiseResult(FloatArray data, FastNoise.OutputMinMax minMax) {
+}
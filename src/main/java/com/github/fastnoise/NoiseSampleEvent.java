@@ -0,0 +1,31 @@
+package com.github.fastnoise;
+
+import jdk.jfr.*;
+
+/**
+ * Flight Recorder event emitted around single point generation. Disabled by default, a recording with it enabled
+ * gets one event per sampled point.
+ */
+@Name("com.github.fastnoise.Sample")
+@Label("Noise Sample")
+@Category("FastNoise")
+@Description("A single point noise generation call into the native library")
+@StackTrace(false)
+@Enabled(false)
+class NoiseSampleEvent extends Event {
+    @Label("Operation")
+    String operation;
+
+    @Label("Node Type")
+    String nodeType;
+
+    @Label("Dimensions")
+    int dimensions;
+
+    @Label("SIMD Level")
+    String simdLevel;
+
+    // The call threw, e.g. because an argument was not accessible from the calling thread
+    @Label("Failed")
+    boolean failed;
+}
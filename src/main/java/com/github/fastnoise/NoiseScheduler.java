@@ -0,0 +1,244 @@
+package com.github.fastnoise;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Generates regions on a pool of worker threads in priority order.
+ * <p>
+ * Every request has a priority, lower values run first, so requests for chunks near the viewer can overtake distant
+ * prefetches. All workers take from one priority queue, so the most urgent request is always the next one to start
+ * whichever worker is free. Requests whose {@link CancellationToken} was cancelled, whose
+ * future was cancelled, or whose deadline passed while they were queued are dropped without being generated. Output
+ * buffers are written by the workers, so they must be shareable between threads, see {@link FloatArray.Scope}.
+ */
+public class NoiseScheduler implements AutoCloseable {
+    // Cancels every request it was passed to, e.g. all requests for a chunk the player has moved away from
+    public static final class CancellationToken {
+        private volatile boolean cancelled;
+
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    private static final class Task implements Comparable<Task> {
+        final FastNoise noise;
+        final NoiseRegion region;
+        final FloatArray noiseOut;
+        final float frequency;
+        final int seed;
+        final int priority;
+        final long sequence;
+        final CancellationToken token;
+        final long timeoutNanos;
+        final long enqueued;
+        final CompletableFuture<NoiseResult> result = new CompletableFuture<>();
+
+        Task(FastNoise noise, NoiseRegion region, FloatArray noiseOut, float frequency, int seed, int priority, long sequence,
+             CancellationToken token, long timeoutNanos, long enqueued) {
+            this.noise = noise;
+            this.region = region;
+            this.noiseOut = noiseOut;
+            this.frequency = frequency;
+            this.seed = seed;
+            this.priority = priority;
+            this.sequence = sequence;
+            this.token = token;
+            this.timeoutNanos = timeoutNanos;
+            this.enqueued = enqueued;
+        }
+
+        // Equal priorities run in submission order
+        @Override
+        public int compareTo(Task other) {
+            final int byPriority = Integer.compare(priority, other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private final PriorityBlockingQueue<Task> queue = new PriorityBlockingQueue<>();
+    private final Thread[] workers;
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile boolean closed;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder cancelledPoints = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder started = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+
+    public NoiseScheduler() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public NoiseScheduler(int workerCount) {
+        if (workerCount <= 0) {
+            throw new IllegalArgumentException("Worker count must be positive: " + workerCount);
+        }
+        workers = new Thread[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            workers[i] = Thread.ofPlatform()
+                    .name("fastnoise-scheduler-" + i)
+                    .daemon(true)
+                    .start(this::work);
+        }
+    }
+
+    public CompletableFuture<NoiseResult> submit(FastNoise noise, NoiseRegion region, FloatArray noiseOut, float frequency, int seed, int priority) {
+        return submit(noise, region, noiseOut, frequency, seed, priority, null, null);
+    }
+
+    // token and timeout may be null. The timeout only bounds the time spent queued, a started generation always finishes.
+    public CompletableFuture<NoiseResult> submit(FastNoise noise, NoiseRegion region, FloatArray noiseOut, float frequency, int seed, int priority,
+                                                 CancellationToken token, Duration timeout) {
+        if (!noiseOut.isShareable()) {
+            throw new IllegalArgumentException("Scheduled generation needs a FloatArray that is shareable between threads");
+        }
+        if (noiseOut.size() < region.pointCount()) {
+            throw new IllegalArgumentException("Output array too small: " + noiseOut.size() + " < " + region.pointCount());
+        }
+        final long timeoutNanos = timeout == null ? Long.MAX_VALUE : timeout.toNanos();
+        final Task task = new Task(noise, region, noiseOut, frequency, seed, priority, sequence.getAndIncrement(), token, timeoutNanos, System.nanoTime());
+
+        queue.add(task);
+        // A close racing with this submit may have drained the queues already
+        if (closed && queue.remove(task)) {
+            task.result.completeExceptionally(new CancellationException("NoiseScheduler is closed"));
+        }
+        return task.result;
+    }
+
+    public CompletableFuture<NoiseResult> genUniformGrid2D(FastNoise noise, FloatArray noiseOut, int xStart, int yStart, int xSize, int ySize, float frequency, int seed,
+                                                           int priority, CancellationToken token) {
+        return submit(noise, NoiseRegion.uniformGrid2D(xStart, yStart, xSize, ySize), noiseOut, frequency, seed, priority, token, null);
+    }
+
+    public CompletableFuture<NoiseResult> genUniformGrid3D(FastNoise noise, FloatArray noiseOut, int xStart, int yStart, int zStart, int xSize, int ySize, int zSize,
+                                                           float frequency, int seed, int priority, CancellationToken token) {
+        return submit(noise, NoiseRegion.uniformGrid3D(xStart, yStart, zStart, xSize, ySize, zSize), noiseOut, frequency, seed, priority, token, null);
+    }
+
+    public CompletableFuture<NoiseResult> genUniformGrid4D(FastNoise noise, FloatArray noiseOut, int xStart, int yStart, int zStart, int wStart, int xSize, int ySize, int zSize, int wSize,
+                                                           float frequency, int seed, int priority, CancellationToken token) {
+        return submit(noise, NoiseRegion.uniformGrid4D(xStart, yStart, zStart, wStart, xSize, ySize, zSize, wSize), noiseOut, frequency, seed, priority, token, null);
+    }
+
+    private void work() {
+        while (!closed) {
+            final Task task;
+            try {
+                task = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            run(task);
+        }
+    }
+
+    private void run(Task task) {
+        final long now = System.nanoTime();
+        final long waited = now - task.enqueued;
+        waitNanos.add(waited);
+        maxWaitNanos.accumulate(waited);
+        started.increment();
+
+        if (task.result.isDone() || (task.token != null && task.token.isCancelled())) {
+            cancelled.increment();
+            cancelledPoints.add(task.region.pointCount());
+            task.result.completeExceptionally(new CancellationException("Request cancelled"));
+            return;
+        }
+        if (waited > task.timeoutNanos) {
+            expired.increment();
+            cancelledPoints.add(task.region.pointCount());
+            task.result.completeExceptionally(new TimeoutException("Deadline passed before generation started"));
+            return;
+        }
+        try {
+            final FastNoise.OutputMinMax minMax = task.region.generate(task.noise, task.noiseOut, task.frequency, task.seed);
+            task.result.complete(new NoiseResult(task.noiseOut, minMax));
+            completed.increment();
+        } catch (Throwable e) {
+            // The worker keeps running, even an Error only fails the request that raised it
+            task.result.completeExceptionally(e);
+        }
+    }
+
+    // Requests queued and not yet picked up by a worker, cancelled ones included until a worker drops them
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    public long completedCount() {
+        return completed.sum();
+    }
+
+    // Requests dropped because their token or future was cancelled
+    public long cancelledCount() {
+        return cancelled.sum();
+    }
+
+    // Requests dropped because their deadline passed while queued
+    public long expiredCount() {
+        return expired.sum();
+    }
+
+    // Points that were not generated because their request was cancelled or expired
+    public long cancelledPointCount() {
+        return cancelledPoints.sum();
+    }
+
+    // Time between submission and a worker picking the request up
+    public double averageWaitNanos() {
+        final long count = started.sum();
+        return count == 0 ? 0 : (double) waitNanos.sum() / count;
+    }
+
+    public long maxWaitNanos() {
+        return maxWaitNanos.get();
+    }
+
+    public int workerCount() {
+        return workers.length;
+    }
+
+    // Queued requests fail with a CancellationException, generations already running are finished. Blocks until every
+    // worker has stopped, so no output buffer is written once close returns and callers may free them. Closing from a
+    // worker, e.g. in a completion callback, waits for every other worker.
+    @Override
+    public void close() {
+        closed = true;
+        Task task;
+        while ((task = queue.poll()) != null) {
+            task.result.completeExceptionally(new CancellationException("NoiseScheduler is closed"));
+        }
+        // Only wakes workers blocked on an empty queue, a running native generation is not interruptible
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        boolean interrupted = false;
+        for (Thread worker : workers) {
+            while (worker != Thread.currentThread()) {
+                try {
+                    worker.join();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
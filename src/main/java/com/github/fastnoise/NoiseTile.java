@@ -0,0 +1,43 @@
+package com.github.fastnoise;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One tile emitted by a {@link NoiseTileStream}.
+ * <p>
+ * The samples live in a buffer the stream reuses for later tiles, so they are only valid until the tile is closed.
+ * Closing the tile hands the buffer back, a stream stops generating once all of its buffers are held by subscribers.
+ */
+public final class NoiseTile implements AutoCloseable {
+    private final NoiseRegion region;
+    private final FloatArray data;
+    private final FastNoise.OutputMinMax minMax;
+    private final Runnable release;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    NoiseTile(NoiseRegion region, FloatArray data, FastNoise.OutputMinMax minMax, Runnable release) {
+        this.region = region;
+        this.data = data;
+        this.minMax = minMax;
+        this.release = release;
+    }
+
+    public NoiseRegion region() {
+        return region;
+    }
+
+    public FloatArray data() {
+        return data;
+    }
+
+    public FastNoise.OutputMinMax minMax() {
+        return minMax;
+    }
+
+    @Override
+    public void close() {
+        if (released.compareAndSet(false, true)) {
+            release.run();
+        }
+    }
+}
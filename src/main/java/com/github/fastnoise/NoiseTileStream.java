@@ -0,0 +1,177 @@
+package com.github.fastnoise;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes a 2D or 3D uniform-grid region as a stream of tiles.
+ * <p>
+ * Tiles are generated on the executor only while the subscriber has outstanding demand and a free buffer is
+ * available. Each subscription owns {@code bufferCount} tile buffers that are recycled when tiles are closed, so
+ * memory use depends on the tile size and buffer count, not on the size of the region.
+ */
+public class NoiseTileStream implements Flow.Publisher<NoiseTile> {
+    private final FastNoise noise;
+    private final NoiseRegion region;
+    private final int tileSize;
+    private final float frequency;
+    private final int seed;
+    private final TileOrder order;
+    private final Executor executor;
+    private final int bufferCount;
+
+    public NoiseTileStream(FastNoise noise, NoiseRegion region, int tileSize, float frequency, int seed) {
+        this(noise, region, tileSize, frequency, seed, TileOrder.ROW_MAJOR, ForkJoinPool.commonPool(), 2);
+    }
+
+    public NoiseTileStream(FastNoise noise, NoiseRegion region, int tileSize, float frequency, int seed,
+                           TileOrder order, Executor executor, int bufferCount) {
+        if (region.kind() != NoiseRegion.Kind.UNIFORM_GRID_2D && region.kind() != NoiseRegion.Kind.UNIFORM_GRID_3D) {
+            throw new IllegalArgumentException("Only 2D and 3D uniform grids can be streamed: " + region.kind());
+        }
+        if (tileSize <= 0 || bufferCount <= 0) {
+            throw new IllegalArgumentException("Tile size and buffer count must be positive");
+        }
+        TileCursor.checkCodeWidth(order, Math.ceilDiv(region.xSize(), tileSize), Math.ceilDiv(region.ySize(), tileSize),
+                region.kind() == NoiseRegion.Kind.UNIFORM_GRID_3D ? Math.ceilDiv(region.zSize(), tileSize) : 1);
+        this.noise = noise;
+        this.region = region;
+        this.tileSize = tileSize;
+        this.frequency = frequency;
+        this.seed = seed;
+        this.order = order;
+        this.executor = executor;
+        this.bufferCount = bufferCount;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super NoiseTile> subscriber) {
+        final TileSubscription subscription = new TileSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    private final class TileSubscription implements Flow.Subscription, Runnable {
+        private final Flow.Subscriber<? super NoiseTile> subscriber;
+        private final boolean is3D = region.kind() == NoiseRegion.Kind.UNIFORM_GRID_3D;
+        private final TileCursor cursor;
+        private final int[] tile = new int[3];
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final ConcurrentLinkedQueue<FloatArray> freeBuffers = new ConcurrentLinkedQueue<>();
+        private int allocatedBuffers;
+        private volatile boolean cancelled;
+        private volatile Throwable requestError;
+        // Only touched inside run(), which never executes concurrently with itself
+        private boolean done;
+
+        private TileSubscription(Flow.Subscriber<? super NoiseTile> subscriber) {
+            this.subscriber = subscriber;
+            this.cursor = new TileCursor(order,
+                    Math.ceilDiv(region.xSize(), tileSize),
+                    Math.ceilDiv(region.ySize(), tileSize),
+                    is3D ? Math.ceilDiv(region.zSize(), tileSize) : 1);
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                requestError = new IllegalArgumentException("Non-positive request: " + n);
+            } else {
+                demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        private void release(FloatArray buffer) {
+            freeBuffers.offer(buffer);
+            schedule();
+        }
+
+        private void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                drain();
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drain() {
+            while (!done && !cancelled) {
+                if (requestError != null) {
+                    done = true;
+                    subscriber.onError(requestError);
+                    return;
+                }
+                if (!cursor.hasNext()) {
+                    done = true;
+                    subscriber.onComplete();
+                    return;
+                }
+                if (demand.get() == 0) {
+                    return;
+                }
+                final FloatArray buffer = takeBuffer();
+                if (buffer == null) {
+                    return;
+                }
+
+                final NoiseTile next;
+                try {
+                    next = generateTile(buffer);
+                } catch (Throwable e) {
+                    done = true;
+                    subscriber.onError(e);
+                    return;
+                }
+                demand.decrementAndGet();
+                subscriber.onNext(next);
+            }
+        }
+
+        private FloatArray takeBuffer() {
+            final FloatArray buffer = freeBuffers.poll();
+            if (buffer != null || allocatedBuffers == bufferCount) {
+                return buffer;
+            }
+            allocatedBuffers++;
+            // Auto scope: a buffer still held by a subscriber after cancellation is reclaimed by the GC
+            return FloatArray.auto(is3D ? tileSize * tileSize * tileSize : tileSize * tileSize);
+        }
+
+        private NoiseTile generateTile(FloatArray buffer) {
+            cursor.next(tile);
+            final int xStart = region.xStart() + tile[0] * tileSize;
+            final int yStart = region.yStart() + tile[1] * tileSize;
+            final int xSize = Math.min(tileSize, region.xSize() - tile[0] * tileSize);
+            final int ySize = Math.min(tileSize, region.ySize() - tile[1] * tileSize);
+            final NoiseRegion tileRegion;
+            if (is3D) {
+                final int zStart = region.zStart() + tile[2] * tileSize;
+                final int zSize = Math.min(tileSize, region.zSize() - tile[2] * tileSize);
+                tileRegion = NoiseRegion.uniformGrid3D(xStart, yStart, zStart, xSize, ySize, zSize);
+            } else {
+                tileRegion = NoiseRegion.uniformGrid2D(xStart, yStart, xSize, ySize);
+            }
+
+            final FloatArray data = buffer.slice(0, (int) tileRegion.pointCount());
+            final FastNoise.OutputMinMax minMax = tileRegion.generate(noise, data, frequency, seed);
+            return new NoiseTile(tileRegion, data, minMax, () -> release(buffer));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.github.fastnoise;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Generates large uniform grids on several threads.
+ * <p>
+ * The grid is cut into slabs along its outermost axis (y for 2D, z for 3D, w for 4D), {@code tileSize} cells thick.
+ * Each slab is a contiguous slice of the output, so tiles are generated straight into {@code noiseOut} and only
+ * their min/max results are merged. The output must be shareable between threads, see {@link FloatArray.Scope}.
+ */
+public class ParallelNoiseGenerator {
+    @FunctionalInterface
+    private interface TileGenerator {
+        void generate(FloatArray tileOut, int outerStart, int outerSize, FastNoise.OutputMinMax outputMinMax);
+    }
+
+    private final Executor executor;
+    private final int tileSize;
+
+    public ParallelNoiseGenerator() {
+        this(ForkJoinPool.commonPool(), 16);
+    }
+
+    public ParallelNoiseGenerator(Executor executor, int tileSize) {
+        if (tileSize <= 0) {
+            throw new IllegalArgumentException("Tile size must be positive: " + tileSize);
+        }
+        this.executor = executor;
+        this.tileSize = tileSize;
+    }
+
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    public FastNoise.OutputMinMax genUniformGrid2D(FastNoise noise, FloatArray noiseOut, int xStart, int yStart, int xSize, int ySize, float frequency, int seed) {
+        return generate(noiseOut, ySize, xSize, (tileOut, outerStart, outerSize, minMax) ->
+                noise.genUniformGrid2D(tileOut, xStart, yStart + outerStart, xSize, outerSize, frequency, seed, minMax));
+    }
+
+    public FastNoise.OutputMinMax genUniformGrid3D(FastNoise noise, FloatArray noiseOut, int xStart, int yStart, int zStart, int xSize, int ySize, int zSize, float frequency, int seed) {
+        return generate(noiseOut, zSize, (long) xSize * ySize, (tileOut, outerStart, outerSize, minMax) ->
+                noise.genUniformGrid3D(tileOut, xStart, yStart, zStart + outerStart, xSize, ySize, outerSize, frequency, seed, minMax));
+    }
+
+    public FastNoise.OutputMinMax genUniformGrid4D(FastNoise noise, FloatArray noiseOut, int xStart, int yStart, int zStart, int wStart, int xSize, int ySize, int zSize, int wSize, float frequency, int seed) {
+        return generate(noiseOut, wSize, (long) xSize * ySize * zSize, (tileOut, outerStart, outerSize, minMax) ->
+                noise.genUniformGrid4D(tileOut, xStart, yStart, zStart, wStart + outerStart, xSize, ySize, zSize, outerSize, frequency, seed, minMax));
+    }
+
+    private FastNoise.OutputMinMax generate(FloatArray noiseOut, int outerSize, long sliceSize, TileGenerator generator) {
+        if (noiseOut.size() < outerSize * sliceSize) {
+            throw new IllegalArgumentException("Output array too small: " + noiseOut.size() + " < " + outerSize * sliceSize);
+        }
+        final int tileCount = Math.ceilDiv(outerSize, tileSize);
+        final FastNoise.OutputMinMax minMax = new FastNoise.OutputMinMax();
+        if (tileCount <= 1) {
+            generator.generate(noiseOut, 0, outerSize, minMax);
+            return minMax;
+        }
+        if (!noiseOut.isShareable()) {
+            throw new IllegalArgumentException("Parallel generation needs a FloatArray that is shareable between threads");
+        }
+
+        @SuppressWarnings("unchecked")
+        final CompletableFuture<FastNoise.OutputMinMax>[] tiles = new CompletableFuture[tileCount];
+        for (int tile = 0; tile < tileCount; tile++) {
+            final int outerStart = tile * tileSize;
+            final int tileOuterSize = Math.min(tileSize, outerSize - outerStart);
+            final FloatArray tileOut = noiseOut.slice(Math.toIntExact(outerStart * sliceSize), Math.toIntExact(tileOuterSize * sliceSize));
+            tiles[tile] = CompletableFuture.supplyAsync(() -> {
+                final FastNoise.OutputMinMax tileMinMax = new FastNoise.OutputMinMax();
+                generator.generate(tileOut, outerStart, tileOuterSize, tileMinMax);
+                return tileMinMax;
+            }, executor);
+        }
+
+        try {
+            for (CompletableFuture<FastNoise.OutputMinMax> tile : tiles) {
+                minMax.merge(tile.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return minMax;
+    }
+}
@@ -0,0 +1,105 @@
+package com.github.fastnoise;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+/**
+ * Collects single-point queries and evaluates them with one {@code genPositionArray} call instead of one
+ * {@code genSingle} downcall per point.
+ * <p>
+ * Coordinates are stored in reusable off-heap buffers, one per axis. Results are handed back in the order the points
+ * were added, then the sampler is empty again. A sampler is confined to the thread that created it.
+ */
+public class PointSampler implements AutoCloseable {
+    @FunctionalInterface
+    public interface ResultConsumer {
+        void accept(int index, float value);
+    }
+
+    private final FastNoise noise;
+    private final int dimensions;
+    private final int seed;
+    private final PositionBatch positions;
+    private final FloatArray results;
+
+    public PointSampler(FastNoise noise, int dimensions, int capacity, int seed) {
+        this.positions = new PositionBatch(dimensions, capacity);
+        this.noise = noise;
+        this.dimensions = dimensions;
+        this.seed = seed;
+        this.results = new FloatArray(capacity);
+    }
+
+    // Each add returns the index the point's result is reported under
+    public int add(float x, float y) {
+        checkNotFull();
+        return positions.add(x, y);
+    }
+
+    public int add(float x, float y, float z) {
+        checkNotFull();
+        return positions.add(x, y, z);
+    }
+
+    public int add(float x, float y, float z, float w) {
+        checkNotFull();
+        return positions.add(x, y, z, w);
+    }
+
+    private void checkNotFull() {
+        if (positions.isFull()) {
+            throw new IllegalStateException("PointSampler is full, flush it first");
+        }
+    }
+
+    public int size() {
+        return positions.count();
+    }
+
+    public int capacity() {
+        return positions.capacity();
+    }
+
+    public boolean isFull() {
+        return positions.isFull();
+    }
+
+    public void flush(ResultConsumer consumer) {
+        final int sampled = generate();
+        final MemorySegment values = results.getSegment();
+        for (int i = 0; i < sampled; i++) {
+            consumer.accept(i, values.getAtIndex(ValueLayout.JAVA_FLOAT, i));
+        }
+    }
+
+    // Copies the results into out starting at offset and returns how many points were sampled
+    public int flush(float[] out, int offset) {
+        final int count = positions.count();
+        if (offset < 0 || out.length - offset < count) {
+            throw new IndexOutOfBoundsException("Results do not fit: " + count + " at " + offset + ", Length: " + out.length);
+        }
+        final int sampled = generate();
+        MemorySegment.copy(results.getSegment(), ValueLayout.JAVA_FLOAT, 0, out, offset, sampled);
+        return sampled;
+    }
+
+    private int generate() {
+        final int sampled = positions.count();
+        if (sampled == 0) {
+            return 0;
+        }
+        switch (dimensions) {
+            case 2 -> noise.genPositionArray2D(results, positions, 0, 0, seed, null);
+            case 3 -> noise.genPositionArray3D(results, positions, 0, 0, 0, seed, null);
+            default -> noise.genPositionArray4D(results, positions, 0, 0, 0, 0, seed, null);
+        }
+        positions.clear();
+        return sampled;
+    }
+
+    @Override
+    public void close() {
+        positions.close();
+        results.close();
+    }
+}
@@ -0,0 +1,147 @@
+package com.github.fastnoise;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+/**
+ * Reusable coordinate buffers for {@code genPositionArray}, one off-heap {@link FloatArray} per axis.
+ * <p>
+ * The batch has a fixed capacity and a logical count, only the first {@link #count()} points are generated. Fill it
+ * with {@code add}, or write the axis arrays directly and call {@link #setCount(int)}, then {@link #clear()} it and
+ * refill it for the next batch without allocating.
+ */
+public class PositionBatch implements AutoCloseable {
+    private final int dimensions;
+    private final int capacity;
+    private final FloatArray x;
+    private final FloatArray y;
+    private final FloatArray z;
+    private final FloatArray w;
+    private final MemorySegment xSegment;
+    private final MemorySegment ySegment;
+    private final MemorySegment zSegment;
+    private final MemorySegment wSegment;
+    private int count;
+
+    public PositionBatch(int dimensions, int capacity) {
+        this(dimensions, capacity, FloatArray.Scope.CONFINED);
+    }
+
+    public PositionBatch(int dimensions, int capacity, FloatArray.Scope scope) {
+        if (dimensions < 2 || dimensions > 4) {
+            throw new IllegalArgumentException("Dimensions must be 2, 3 or 4: " + dimensions);
+        }
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative: " + capacity);
+        }
+        this.dimensions = dimensions;
+        this.capacity = capacity;
+        this.x = new FloatArray(capacity, scope);
+        this.y = new FloatArray(capacity, scope);
+        this.z = dimensions >= 3 ? new FloatArray(capacity, scope) : null;
+        this.w = dimensions == 4 ? new FloatArray(capacity, scope) : null;
+        this.xSegment = x.getSegment();
+        this.ySegment = y.getSegment();
+        this.zSegment = z != null ? z.getSegment() : null;
+        this.wSegment = w != null ? w.getSegment() : null;
+    }
+
+    // Each add returns the index of the point, which is also the index of its result in the output
+    public int add(float x, float y) {
+        checkDimensions(2);
+        final int index = next();
+        xSegment.setAtIndex(ValueLayout.JAVA_FLOAT, index, x);
+        ySegment.setAtIndex(ValueLayout.JAVA_FLOAT, index, y);
+        return index;
+    }
+
+    public int add(float x, float y, float z) {
+        checkDimensions(3);
+        final int index = next();
+        xSegment.setAtIndex(ValueLayout.JAVA_FLOAT, index, x);
+        ySegment.setAtIndex(ValueLayout.JAVA_FLOAT, index, y);
+        zSegment.setAtIndex(ValueLayout.JAVA_FLOAT, index, z);
+        return index;
+    }
+
+    public int add(float x, float y, float z, float w) {
+        checkDimensions(4);
+        final int index = next();
+        xSegment.setAtIndex(ValueLayout.JAVA_FLOAT, index, x);
+        ySegment.setAtIndex(ValueLayout.JAVA_FLOAT, index, y);
+        zSegment.setAtIndex(ValueLayout.JAVA_FLOAT, index, z);
+        wSegment.setAtIndex(ValueLayout.JAVA_FLOAT, index, w);
+        return index;
+    }
+
+    private int next() {
+        if (count == capacity) {
+            throw new IllegalStateException("PositionBatch is full: " + capacity);
+        }
+        return count++;
+    }
+
+    private void checkDimensions(int expected) {
+        if (dimensions != expected) {
+            throw new IllegalArgumentException("PositionBatch holds " + dimensions + "D points, got a " + expected + "D point");
+        }
+    }
+
+    // Sets how many points are valid after the axis arrays were filled directly
+    public void setCount(int count) {
+        if (count < 0 || count > capacity) {
+            throw new IndexOutOfBoundsException("Count: " + count + ", Capacity: " + capacity);
+        }
+        this.count = count;
+    }
+
+    public void clear() {
+        count = 0;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int dimensions() {
+        return dimensions;
+    }
+
+    public boolean isFull() {
+        return count == capacity;
+    }
+
+    public FloatArray x() {
+        return x;
+    }
+
+    public FloatArray y() {
+        return y;
+    }
+
+    // Null for 2D batches
+    public FloatArray z() {
+        return z;
+    }
+
+    // Null for 2D and 3D batches
+    public FloatArray w() {
+        return w;
+    }
+
+    @Override
+    public void close() {
+        x.close();
+        y.close();
+        if (z != null) {
+            z.close();
+        }
+        if (w != null) {
+            w.close();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.github.fastnoise;
+
+/**
+ * How {@link NoiseQuantizer} maps float samples onto unsigned 8 or 16 bit values.
+ * <p>
+ * A fixed range maps {@code min} to 0 and {@code max} to the largest value, clamping samples outside it.
+ * The output range mode uses the min/max of the generated region instead, which costs a second generation pass
+ * when the region does not fit in the quantizer's scratch buffer.
+ */
+public record Quantization(float min, float max, boolean fromOutputRange) {
+    public Quantization {
+        if (!fromOutputRange && !(max > min)) {
+            throw new IllegalArgumentException("Quantization range is empty: " + min + " to " + max);
+        }
+    }
+
+    public static Quantization fixed(float min, float max) {
+        return new Quantization(min, max, false);
+    }
+
+    public static Quantization outputRange() {
+        return new Quantization(0, 0, true);
+    }
+
+    // Maps a quantized value back to the sample range it was generated from
+    public static float dequantize(int value, int maxValue, FastNoise.OutputMinMax range) {
+        return range.min + value * (range.max - range.min) / maxValue;
+    }
+}
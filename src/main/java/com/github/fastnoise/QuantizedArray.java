@@ -0,0 +1,55 @@
+package com.github.fastnoise;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.ref.Cleaner;
+
+// Off-heap buffer holding quantized noise, see NoiseQuantizer
+public abstract sealed class QuantizedArray implements AutoCloseable permits ByteArray, ShortArray {
+    public enum Scope {
+        // Only the allocating thread may access or close the array
+        CONFINED,
+        // Any thread may access or close the array
+        SHARED,
+        // Any thread may access the array, memory is freed by the GC once the array is unreachable
+        AUTO
+    }
+
+    final MemorySegment segment;
+    final int size;
+    private final Cleaner.Cleanable cleanable;
+
+    QuantizedArray(ValueLayout layout, int size, Scope scope) {
+        final Arena memory = switch (scope) {
+            case CONFINED -> Arena.ofConfined();
+            case SHARED -> Arena.ofShared();
+            case AUTO -> Arena.ofAuto();
+        };
+        this.segment = memory.allocate(layout, size);
+        this.size = size;
+        // Auto arenas cannot be closed explicitly, the GC releases them
+        this.cleanable = scope == Scope.AUTO ? null : NativeMemory.register(this, new NativeMemory.Owner(memory));
+    }
+
+    void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    public MemorySegment getSegment() {
+        return segment;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void close() {
+        if (cleanable != null) {
+            cleanable.clean();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.github.fastnoise;
+
+/**
+ * Instruction set levels of the native library, matching FastSIMD's level flags.
+ * <p>
+ * A level passed when creating a node is an upper bound, the node uses the highest level at or below it that the
+ * library was compiled with and the CPU supports. {@link FastNoise#simdLevel()} reports the level actually used.
+ */
+public enum SIMDLevel {
+    // Let the library pick the highest supported level
+    AUTO(0),
+    SCALAR(1),
+    SSE(1 << 1),
+    SSE2(1 << 2),
+    SSE3(1 << 3),
+    SSSE3(1 << 4),
+    SSE41(1 << 5),
+    SSE42(1 << 6),
+    AVX(1 << 7),
+    AVX2(1 << 8),
+    AVX512(1 << 9),
+    NEON(1 << 16);
+
+    private final int value;
+
+    SIMDLevel(int value) {
+        this.value = value;
+    }
+
+    public int value() {
+        return value;
+    }
+
+    public static SIMDLevel fromValue(int value) {
+        for (SIMDLevel level : values()) {
+            if (level.value == value) {
+                return level;
+            }
+        }
+        throw new IllegalArgumentException("Unknown SIMD level: " + value);
+    }
+}
@@ -0,0 +1,58 @@
+package com.github.fastnoise;
+
+import java.lang.foreign.MemorySegment;
+
+import static java.lang.foreign.ValueLayout.JAVA_FLOAT;
+
+final class ScalarKernels implements NoiseKernels.Kernels {
+    @Override
+    public void affine(MemorySegment src, MemorySegment dst, int count, float scale, float offset) {
+        for (int i = 0; i < count; i++) {
+            dst.setAtIndex(JAVA_FLOAT, i, src.getAtIndex(JAVA_FLOAT, i) * scale + offset);
+        }
+    }
+
+    @Override
+    public void clamp(MemorySegment src, MemorySegment dst, int count, float min, float max) {
+        for (int i = 0; i < count; i++) {
+            dst.setAtIndex(JAVA_FLOAT, i, Math.min(Math.max(src.getAtIndex(JAVA_FLOAT, i), min), max));
+        }
+    }
+
+    @Override
+    public void abs(MemorySegment src, MemorySegment dst, int count) {
+        for (int i = 0; i < count; i++) {
+            dst.setAtIndex(JAVA_FLOAT, i, Math.abs(src.getAtIndex(JAVA_FLOAT, i)));
+        }
+    }
+
+    @Override
+    public void threshold(MemorySegment src, MemorySegment dst, int count, float threshold, float below, float above) {
+        for (int i = 0; i < count; i++) {
+            dst.setAtIndex(JAVA_FLOAT, i, src.getAtIndex(JAVA_FLOAT, i) < threshold ? below : above);
+        }
+    }
+
+    @Override
+    public void pow(MemorySegment src, MemorySegment dst, int count, float exponent) {
+        for (int i = 0; i < count; i++) {
+            dst.setAtIndex(JAVA_FLOAT, i, (float) Math.pow(src.getAtIndex(JAVA_FLOAT, i), exponent));
+        }
+    }
+
+    @Override
+    public void lerp(float[] a, int aIndex, float[] b, int bIndex, float[] dst, int count, float t) {
+        for (int i = 0; i < count; i++) {
+            final float from = a[aIndex + i];
+            dst[i] = from + (b[bIndex + i] - from) * t;
+        }
+    }
+
+    @Override
+    public void expand(float[] row, int[] cell, float[] t, MemorySegment dst, int dstIndex, int count) {
+        for (int i = 0; i < count; i++) {
+            final float from = row[cell[i]];
+            dst.setAtIndex(JAVA_FLOAT, dstIndex + i, from + (row[cell[i] + 1] - from) * t[i]);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.github.fastnoise;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+// Off-heap short buffer holding quantized noise, see NoiseQuantizer
+public final class ShortArray extends QuantizedArray {
+    static final int MAX_UNSIGNED = 65535;
+
+    public ShortArray(int size) {
+        this(size, Scope.CONFINED);
+    }
+
+    public ShortArray(int size, Scope scope) {
+        super(ValueLayout.JAVA_SHORT, size, scope);
+    }
+
+    public void set(int index, short value) {
+        checkIndex(index);
+        segment.setAtIndex(ValueLayout.JAVA_SHORT, index, value);
+    }
+
+    public short get(int index) {
+        checkIndex(index);
+        return segment.getAtIndex(ValueLayout.JAVA_SHORT, index);
+    }
+
+    // Quantized values are unsigned, 0 to 65535
+    public int getUnsigned(int index) {
+        return get(index) & 0xFFFF;
+    }
+
+    public void copyTo(short[] dst) {
+        MemorySegment.copy(segment, ValueLayout.JAVA_SHORT, 0, dst, 0, size);
+    }
+}
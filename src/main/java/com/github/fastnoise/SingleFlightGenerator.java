@@ -0,0 +1,160 @@
+package com.github.fastnoise;
+
+import java.lang.foreign.MemorySegment;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Makes concurrent identical generation requests share one native call.
+ * <p>
+ * Requests are keyed like {@link NoiseCache} entries: graph description, region, frequency and seed. The first thread
+ * to ask for a key generates it into a shared buffer, threads asking for the same key meanwhile wait for that result
+ * instead of generating their own. Every caller gets a {@link SharedResult} holding a reference to the buffer, which is
+ * freed once all of them are closed. Each result only hands out a read-only view of the buffer that stops working when
+ * that result is closed, so no holder can modify or free the data under the others. Unlike a cache, nothing is kept after the last holder closes its result, and a
+ * request arriving after the generation finished starts a new one.
+ */
+public class SingleFlightGenerator {
+    private record Key(String graph, NoiseRegion region, int frequencyBits, int seed) {
+    }
+
+    private static final class Flight {
+        final FloatArray buffer;
+        final CompletableFuture<FastNoise.OutputMinMax> minMax = new CompletableFuture<>();
+        // The generating thread holds the first reference
+        final AtomicInteger references = new AtomicInteger(1);
+
+        Flight(int size) {
+            this.buffer = FloatArray.shared(size);
+        }
+
+        void release() {
+            if (references.decrementAndGet() == 0) {
+                buffer.close();
+            }
+        }
+    }
+
+    // One caller's reference to a shared result
+    public static final class SharedResult implements AutoCloseable {
+        private final Flight flight;
+        private final FloatArray data;
+        private final FastNoise.OutputMinMax minMax;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private SharedResult(Flight flight, FastNoise.OutputMinMax minMax) {
+            this.flight = flight;
+            this.data = flight.buffer.readOnlyView(closed::get);
+            this.minMax = minMax;
+        }
+
+        // Read-only, throws IllegalStateException once this result is closed
+        public FloatArray data() {
+            return data;
+        }
+
+        public FastNoise.OutputMinMax minMax() {
+            return new FastNoise.OutputMinMax(minMax.min, minMax.max);
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                flight.release();
+            }
+        }
+    }
+
+    private final ConcurrentHashMap<Key, Flight> flights = new ConcurrentHashMap<>();
+    private final LongAdder generations = new LongAdder();
+    private final LongAdder joins = new LongAdder();
+
+    public SharedResult genUniformGrid2D(FastNoise noise, int xStart, int yStart, int xSize, int ySize, float frequency, int seed) {
+        return generate(noise, NoiseRegion.uniformGrid2D(xStart, yStart, xSize, ySize), frequency, seed);
+    }
+
+    public SharedResult genUniformGrid3D(FastNoise noise, int xStart, int yStart, int zStart, int xSize, int ySize, int zSize, float frequency, int seed) {
+        return generate(noise, NoiseRegion.uniformGrid3D(xStart, yStart, zStart, xSize, ySize, zSize), frequency, seed);
+    }
+
+    public SharedResult genUniformGrid4D(FastNoise noise, int xStart, int yStart, int zStart, int wStart, int xSize, int ySize, int zSize, int wSize, float frequency, int seed) {
+        return generate(noise, NoiseRegion.uniformGrid4D(xStart, yStart, zStart, wStart, xSize, ySize, zSize, wSize), frequency, seed);
+    }
+
+    public SharedResult genTileable2D(FastNoise noise, int xSize, int ySize, float frequency, int seed) {
+        return generate(noise, NoiseRegion.tileable2D(xSize, ySize), frequency, seed);
+    }
+
+    // Copies the shared result into noiseOut and releases it straight away
+    public FastNoise.OutputMinMax generate(FastNoise noise, NoiseRegion region, FloatArray noiseOut, float frequency, int seed) {
+        if (noiseOut.size() < region.pointCount()) {
+            throw new IllegalArgumentException("Output array too small: " + noiseOut.size() + " < " + region.pointCount());
+        }
+        try (SharedResult result = generate(noise, region, frequency, seed)) {
+            final MemorySegment samples = result.data().getSegment();
+            MemorySegment.copy(samples, 0, noiseOut.getSegment(), 0, samples.byteSize());
+            return result.minMax();
+        }
+    }
+
+    public SharedResult generate(FastNoise noise, NoiseRegion region, float frequency, int seed) {
+        final Key key = new Key(noise.graphKey(), region, Float.floatToIntBits(frequency), seed);
+        final Flight[] created = new Flight[1];
+        // References are only taken while the flight is mapped, the generating thread's own reference keeps the
+        // buffer alive until the flight is unmapped
+        final Flight flight = flights.compute(key, (k, existing) -> {
+            if (existing != null) {
+                existing.references.incrementAndGet();
+                return existing;
+            }
+            created[0] = new Flight(Math.toIntExact(region.pointCount()));
+            return created[0];
+        });
+
+        if (flight == created[0]) {
+            generations.increment();
+            final FastNoise.OutputMinMax minMax;
+            try {
+                minMax = region.generate(noise, flight.buffer, frequency, seed);
+            } catch (RuntimeException | Error e) {
+                flights.remove(key, flight);
+                flight.minMax.completeExceptionally(e);
+                flight.release();
+                throw e;
+            }
+            flights.remove(key, flight);
+            flight.minMax.complete(minMax);
+            return new SharedResult(flight, minMax);
+        }
+
+        joins.increment();
+        try {
+            return new SharedResult(flight, flight.minMax.join());
+        } catch (CompletionException e) {
+            flight.release();
+            // Joiners see the same exception the generating thread threw
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    // Number of native generations started
+    public long generationCount() {
+        return generations.sum();
+    }
+
+    // Number of requests served by a generation another thread started
+    public long joinCount() {
+        return joins.sum();
+    }
+
+    public int inFlightCount() {
+        return flights.size();
+    }
+}
@@ -0,0 +1,130 @@
+package com.github.fastnoise;
+
+// Walks the tile coordinates of a tile grid in a TileOrder without materialising the sequence
+final class TileCursor {
+    private final TileOrder order;
+    private final int[] tileCounts;
+    private final int dimensions;
+    private final int bits;
+    private final long total;
+    private long emitted;
+    private long code;
+
+    TileCursor(TileOrder order, int tilesX, int tilesY, int tilesZ) {
+        this.order = order;
+        this.tileCounts = new int[]{tilesX, tilesY, tilesZ};
+        this.dimensions = tilesZ > 1 ? 3 : 2;
+        final int maxTiles = Math.max(tilesX, Math.max(tilesY, tilesZ));
+        this.bits = Math.max(1, 32 - Integer.numberOfLeadingZeros(maxTiles - 1));
+        this.total = (long) tilesX * tilesY * tilesZ;
+        checkCodeWidth(order, tilesX, tilesY, tilesZ);
+    }
+
+    // Curve codes interleave one bit per axis into a long, which limits a 3D curve to 2^21 tiles along each axis
+    static void checkCodeWidth(TileOrder order, int tilesX, int tilesY, int tilesZ) {
+        if (order == TileOrder.ROW_MAJOR || tilesZ <= 1) {
+            return;
+        }
+        final int maxTiles = Math.max(tilesX, Math.max(tilesY, tilesZ));
+        if (32 - Integer.numberOfLeadingZeros(maxTiles - 1) > 63 / 3) {
+            throw new IllegalArgumentException("A 3D " + order + " walk supports at most 2^21 tiles along each axis, got " + maxTiles);
+        }
+    }
+
+    boolean hasNext() {
+        return emitted < total;
+    }
+
+    // Fills tile with the x, y, z tile coordinates of the next tile
+    boolean next(int[] tile) {
+        if (!hasNext()) {
+            return false;
+        }
+        if (order == TileOrder.ROW_MAJOR) {
+            tile[0] = (int) (emitted % tileCounts[0]);
+            tile[1] = (int) (emitted / tileCounts[0] % tileCounts[1]);
+            tile[2] = (int) (emitted / ((long) tileCounts[0] * tileCounts[1]));
+        } else {
+            // Curves cover the enclosing power-of-two grid. Both fill it one aligned power-of-two block at a time, so
+            // when the block around an outside code lies beyond the real grid the whole block is skipped at once and
+            // a long, thin grid costs about as much as its tile count
+            while (true) {
+                if (order == TileOrder.MORTON) {
+                    decodeMorton(code, tile);
+                } else {
+                    decodeHilbert(code, tile);
+                }
+                final int level = outsideLevel(tile);
+                if (level < 0) {
+                    break;
+                }
+                final int shift = level * dimensions;
+                code = ((code >>> shift) + 1) << shift;
+            }
+            code++;
+        }
+        emitted++;
+        return true;
+    }
+
+    // Largest level whose aligned block around tile lies entirely outside the grid, -1 when tile is inside
+    private int outsideLevel(int[] tile) {
+        int level = -1;
+        for (int axis = 0; axis < dimensions; axis++) {
+            if (tile[axis] < tileCounts[axis]) {
+                continue;
+            }
+            int axisLevel = 0;
+            while (axisLevel < bits && (tile[axis] >>> (axisLevel + 1) << (axisLevel + 1)) >= tileCounts[axis]) {
+                axisLevel++;
+            }
+            level = Math.max(level, axisLevel);
+        }
+        return level;
+    }
+
+    private void decodeMorton(long code, int[] tile) {
+        tile[0] = 0;
+        tile[1] = 0;
+        tile[2] = 0;
+        for (int bit = 0; bit < bits; bit++) {
+            for (int axis = 0; axis < dimensions; axis++) {
+                tile[axis] |= (int) ((code >>> (bit * dimensions + axis)) & 1) << bit;
+            }
+        }
+    }
+
+    // Skilling's transpose-to-axes, from "Programming the Hilbert curve" (AIP Conf. Proc. 707, 2004)
+    private void decodeHilbert(long code, int[] tile) {
+        tile[0] = 0;
+        tile[1] = 0;
+        tile[2] = 0;
+        for (int bit = bits - 1; bit >= 0; bit--) {
+            for (int axis = 0; axis < dimensions; axis++) {
+                tile[axis] |= (int) ((code >>> (bit * dimensions + dimensions - 1 - axis)) & 1) << bit;
+            }
+        }
+
+        // Gray decode
+        final int top = tile[dimensions - 1] >> 1;
+        for (int axis = dimensions - 1; axis > 0; axis--) {
+            tile[axis] ^= tile[axis - 1];
+        }
+        tile[0] ^= top;
+
+        // Undo excess work
+        final int limit = 2 << (bits - 1);
+        for (int q = 2; q != limit; q <<= 1) {
+            final int p = q - 1;
+            for (int axis = dimensions - 1; axis >= 0; axis--) {
+                if ((tile[axis] & q) != 0) {
+                    tile[0] ^= p;
+                } else {
+                    final int t = (tile[0] ^ tile[axis]) & p;
+                    tile[0] ^= t;
+                    tile[axis] ^= t;
+                }
+            }
+        }
+    }
+}
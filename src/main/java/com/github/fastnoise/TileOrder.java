@@ -0,0 +1,12 @@
+package com.github.fastnoise;
+
+// Order in which NoiseTileStream walks the tiles of a region
+public enum TileOrder {
+    // x fastest, then y, then z
+    ROW_MAJOR,
+    // Z-order curve, neighbouring tiles tend to be emitted close together. Curves are limited to 2^21 tiles along each
+    // axis of a 3D region
+    MORTON,
+    // Hilbert curve, consecutive tiles are always adjacent when the tile grid is a power-of-two square or cube
+    HILBERT
+}
@@ -0,0 +1,50 @@
+package com.github.fastnoise;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncNoiseGeneratorTest {
+    @Test
+    public void testGenerateFromVirtualThread() throws ExecutionException, InterruptedException {
+        try (FastNoise simplex = new FastNoise("Simplex");
+             FloatArray expected = new FloatArray(16 * 16 * 16);
+             FloatArray out = FloatArray.shared(16 * 16 * 16);
+             AsyncNoiseGenerator generator = new AsyncNoiseGenerator(2);
+             ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            FastNoise.OutputMinMax expectedMinMax = simplex.genUniformGrid3D(expected, 0, 0, 0, 16, 16, 16, 0.02f, 1337);
+
+            Future<NoiseResult> result = virtualThreads.submit(() ->
+                    generator.genUniformGrid3D(simplex, out, 0, 0, 0, 16, 16, 16, 0.02f, 1337).join());
+            NoiseResult noise = result.get();
+            assertSame(out, noise.data());
+            assertEquals(expectedMinMax.min, noise.minMax().min);
+            assertEquals(expectedMinMax.max, noise.minMax().max);
+            assertArrayEquals(expected.toArray(), out.toArray());
+        }
+    }
+
+    @Test
+    public void testPositionBatch() {
+        try (FastNoise simplex = new FastNoise("Simplex");
+             PositionBatch batch = new PositionBatch(2, 8, FloatArray.Scope.SHARED);
+             FloatArray out = FloatArray.shared(8)) {
+            batch.add(1, 2);
+            batch.add(3, 4);
+            NoiseResult result = new AsyncNoiseGenerator().genPositionArray2D(simplex, out, batch, 0, 0, 1337).join();
+            assertEquals(simplex.genSingle2D(3, 4, 1337), result.data().get(1), 1e-6f);
+        }
+    }
+
+    @Test
+    public void testRejectsConfinedOutput() {
+        try (FastNoise simplex = new FastNoise("Simplex"); FloatArray out = new FloatArray(16)) {
+            assertThrows(IllegalArgumentException.class, () -> new AsyncNoiseGenerator().genUniformGrid2D(simplex, out, 0, 0, 4, 4, 0.02f, 1));
+        }
+    }
+}
@@ -5,11 +5,16 @@ import org.junit.jupiter.api.Test;
 
 import java.io.*;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class FastNoiseTest {
@@ -170,6 +175,35 @@ public class FastNoiseTest {
     }
 
 
+    @Test
+    public void testGenUniformGrid3DReusedMinMax() {
+        int size = 5 * 5 * 5;
+        final var noiseData = new FloatArray(size);
+        final var expected = maxSmooth.genUniformGrid3D(noiseData, 0, 0, 0, 5, 5, 5, 0.02f, 1337);
+        final var minMax = new FastNoise.OutputMinMax();
+        maxSmooth.genUniformGrid3D(noiseData, 0, 0, 0, 5, 5, 5, 0.02f, 1337, minMax);
+        assertEquals(expected.min, minMax.min);
+        assertEquals(expected.max, minMax.max);
+
+        final float first = noiseData.get(0);
+        noiseData.set(0, Float.NaN);
+        maxSmooth.genUniformGrid3D(noiseData, 0, 0, 0, 5, 5, 5, 0.02f, 1337, null);
+        assertEquals(first, noiseData.get(0));
+    }
+
+    @Test
+    public void testGenUniformGrid3DHeapArray() {
+        int size = 5 * 5 * 5;
+        final var noiseData = new FloatArray(size);
+        final float[] heapData = new float[size];
+        maxSmooth.genUniformGrid3D(noiseData, 0, 0, 0, 5, 5, 5, 0.02f, 1337);
+        maxSmooth.genUniformGrid3D(heapData, 0, 0, 0, 5, 5, 5, 0.02f, 1337);
+        for (int i = 0; i < size; i++) {
+            assertEquals(noiseData.get(i), heapData[i]);
+        }
+        assertThrows(IllegalArgumentException.class, () -> maxSmooth.genUniformGrid3D(new float[size - 1], 0, 0, 0, 5, 5, 5, 0.02f, 1337));
+    }
+
     @Test
     public void testGenPositionArray3D() {
         FloatArray xPos = new FloatArray(new float[]{0.0f, 0.5f, 0.75f, 1.0f});
@@ -219,4 +253,107 @@ public class FastNoiseTest {
         float v = maxSmooth.genSingle4D(1, 2, 3, 4, 1337);
         assertTrue(v <= Float.MAX_VALUE && v >= Float.MIN_VALUE);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testMetadataSnapshot() throws IOException {
+        Path dir = Files.createTempDirectory("fnmeta");
+        Path snapshot = FastNoise.saveMetadataSnapshot(dir);
+        assertTrue(Files.size(snapshot) > 0);
+        assertTrue(snapshot.getFileName().toString().startsWith(FastNoise.nativeLibHash()));
+        // Every node type has been loaded by now, lookups still resolve the same entries
+        assertEquals("simplex", MetadataRegistry.get(MetadataRegistry.lookup("simplex")).name);
+        Files.delete(snapshot);
+        Files.delete(dir);
+    }
+
+    @Test
+    public void testMetadataSnapshotRoundTrip() throws IOException {
+        Path dir = Files.createTempDirectory("fnmeta");
+        Path snapshot = FastNoise.saveMetadataSnapshot(dir);
+        byte[] bytes = Files.readAllBytes(snapshot);
+        Files.delete(snapshot);
+        Files.delete(dir);
+
+        FastNoise.Metadata[] loaded = MetadataRegistry.readSnapshot(bytes);
+        assertNotNull(loaded);
+        assertEquals(MetadataRegistry.count(), loaded.length);
+        for (int id = 0; id < loaded.length; id++) {
+            FastNoise.Metadata expected = MetadataRegistry.load(id);
+            assertEquals(expected.id, loaded[id].id);
+            assertEquals(expected.name, loaded[id].name);
+            assertEquals(expected.members.keySet(), loaded[id].members.keySet());
+            for (FastNoise.Metadata.Member member : expected.members.values()) {
+                FastNoise.Metadata.Member read = loaded[id].members.get(member.name);
+                assertEquals(member.type, read.type);
+                assertEquals(member.index, read.index);
+                assertEquals(member.enumNames, read.enumNames);
+            }
+        }
+
+        // The hash follows the magic, the version and the two byte length of the hash string
+        byte[] staleHash = bytes.clone();
+        staleHash[10] = (byte) (staleHash[10] == '0' ? '1' : '0');
+        assertNull(MetadataRegistry.readSnapshot(staleHash));
+        byte[] badMagic = bytes.clone();
+        badMagic[0] ^= 1;
+        assertNull(MetadataRegistry.readSnapshot(badMagic));
+        assertNull(MetadataRegistry.readSnapshot(Arrays.copyOf(bytes, bytes.length / 2)));
+    }
+
+    @Test
+    public void testMemberHandles() {
+        FastNoise byName = new FastNoise("CellularDistance");
+        byName.set("ReturnType", "Index0Add1");
+        byName.set("DistanceIndex0", 2);
+        byName.set("JitterModifier", 0.5f);
+
+        FastNoise byHandle = new FastNoise("CellularDistance");
+        NoiseMember.EnumMember returnType = byHandle.enumMember("ReturnType");
+        returnType.set(returnType.ordinal("Index0Add1"));
+        byHandle.intMember("DistanceIndex0").set(2);
+        assertTrue(byHandle.member("JitterModifier") instanceof NoiseMember.FloatMember);
+        byHandle.floatMember("JitterModifier").set(0.5f);
+
+        assertEquals(byName.graphKey(), byHandle.graphKey());
+        assertEquals(byName.genSingle2D(1, 2, 1337), byHandle.genSingle2D(1, 2, 1337));
+
+        // Values set through a handle are recorded in the graph key like values set by name
+        String before = byHandle.graphKey();
+        byHandle.floatMember("JitterModifier").set(0.25f);
+        assertTrue(byHandle.graphKey().contains("jittermodifier=0.25"));
+        byName.set("JitterModifier", 0.25f);
+        assertEquals(byName.graphKey(), byHandle.graphKey());
+        assertTrue(!before.equals(byHandle.graphKey()));
+        assertThrows(IllegalArgumentException.class, () -> byHandle.intMember("ReturnType"));
+        assertThrows(IllegalArgumentException.class, () -> returnType.ordinal("NotAReturnType"));
+        byName.close();
+        byHandle.close();
+    }
+
+    @Test
+    public void testParseSIMDLevel() {
+        assertEquals(SIMDLevel.AVX2, FastNoise.parseSIMDLevel("avx2"));
+        assertEquals(SIMDLevel.AUTO, FastNoise.parseSIMDLevel(null));
+        // A typo must not break class initialisation
+        assertEquals(SIMDLevel.AUTO, FastNoise.parseSIMDLevel("AVX3"));
+    }
+
+    @Test
+    public void testSIMDLevel() {
+        try (FastNoise scalar = new FastNoise("Simplex", SIMDLevel.SCALAR)) {
+            assertEquals(SIMDLevel.SCALAR, scalar.simdLevel());
+        }
+        SIMDLevel fastest = FastNoise.probeSIMDLevel(level -> {
+            FastNoise fractal = new FastNoise("FractalFBm", level);
+            // The probe closes the returned root, the fractal keeps its own reference to the source
+            try (FastNoise source = new FastNoise("Simplex", level)) {
+                fractal.set("Source", source);
+            }
+            return fractal;
+        });
+        assertTrue(fastest != SIMDLevel.AUTO);
+        try (FastNoise tuned = new FastNoise("Simplex", fastest)) {
+            assertEquals(fastest, tuned.simdLevel());
+        }
+    }
+}
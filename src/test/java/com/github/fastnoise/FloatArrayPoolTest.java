@@ -0,0 +1,116 @@
+package com.github.fastnoise;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FloatArrayPoolTest {
+    @Test
+    public void testClosedArrayIsReused() {
+        try (FloatArrayPool pool = new FloatArrayPool()) {
+            final FloatArray first = pool.acquire(100);
+            assertEquals(100, first.size());
+            assertEquals(FloatArray.Scope.POOLED, first.scope());
+            final long address = first.getSegment().address();
+            first.close();
+            first.close();
+
+            final FloatArray second = pool.acquire(120);
+            assertEquals(address, second.getSegment().address());
+            assertEquals(1, pool.allocationCount());
+            assertEquals(1, pool.reuseCount());
+            second.close();
+        }
+    }
+
+    @Test
+    public void testSteadyStateDoesNotAllocate() {
+        try (FloatArrayPool pool = new FloatArrayPool()) {
+            final FastNoise noise = new FastNoise("Simplex");
+            for (int i = 0; i < 100; i++) {
+                try (FloatArray chunk = pool.acquire(16 * 16 * 16)) {
+                    noise.genUniformGrid3D(chunk, i * 16, 0, 0, 16, 16, 16, 0.02f, 1337, null);
+                }
+            }
+            assertEquals(1, pool.allocationCount());
+            noise.close();
+        }
+    }
+
+    @Test
+    public void testTransferredArrayReturnsOnce() {
+        try (FloatArrayPool pool = new FloatArrayPool()) {
+            final FloatArray source = pool.acquire(64);
+            final FloatArray target = source.transfer();
+            source.close();
+            final FloatArray other = pool.acquire(64);
+            assertNotEquals(target.getSegment().address(), other.getSegment().address());
+            target.close();
+            other.close();
+        }
+    }
+
+    @Test
+    public void testCloseDrainsEveryThreadCache() throws InterruptedException {
+        final FloatArrayPool pool = new FloatArrayPool();
+        final Thread worker = new Thread(() -> pool.acquire(256).close());
+        worker.start();
+        worker.join();
+        pool.acquire(64).close();
+        assertEquals(2, pool.cachedCount());
+
+        final FloatArray outstanding = pool.acquire(128);
+        pool.close();
+        assertEquals(0, pool.cachedCount());
+        outstanding.close();
+        assertEquals(0, pool.cachedCount());
+        assertThrows(IllegalStateException.class, () -> pool.acquire(64));
+    }
+
+    @Test
+    public void testReleasedArrayRejectsAccess() {
+        try (FloatArrayPool pool = new FloatArrayPool()) {
+            final FloatArray first = pool.acquire(64);
+            final FloatArray slice = first.slice(16, 16);
+            first.close();
+            // The memory is already cached for the next lease, the old array and its views must not alias it
+            final FloatArray second = pool.acquire(64);
+            assertThrows(IllegalStateException.class, () -> first.get(0));
+            assertThrows(IllegalStateException.class, () -> first.set(0, 1.0f));
+            assertThrows(IllegalStateException.class, first::getSegment);
+            assertThrows(IllegalStateException.class, () -> slice.get(0));
+            second.set(0, 1.0f);
+            assertEquals(1.0f, second.get(0));
+            second.close();
+        }
+    }
+
+    @Test
+    public void testVirtualThreadsSkipThreadCache() throws InterruptedException {
+        try (FloatArrayPool pool = new FloatArrayPool()) {
+            Thread.ofVirtual().start(() -> pool.acquire(64).close()).join();
+            assertEquals(0, pool.threadCacheCount());
+            assertEquals(1, pool.cachedCount());
+
+            // The buffer went to the shared tier, so this thread picks it up
+            pool.acquire(64).close();
+            assertEquals(1, pool.allocationCount());
+        }
+    }
+
+    @Test
+    public void testExitedThreadCachesAreCollected() throws InterruptedException {
+        try (FloatArrayPool pool = new FloatArrayPool()) {
+            final Thread worker = new Thread(() -> pool.acquire(64).close());
+            worker.start();
+            worker.join();
+
+            for (int i = 0; i < 50 && pool.threadCacheCount() > 0; i++) {
+                System.gc();
+                Thread.sleep(20);
+            }
+            assertEquals(0, pool.threadCacheCount());
+            assertEquals(0, pool.cachedCount());
+        }
+    }
+}
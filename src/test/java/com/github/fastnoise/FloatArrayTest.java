@@ -0,0 +1,91 @@
+package com.github.fastnoise;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FloatArrayTest {
+    @Test
+    public void testSharedArrayHandOff() {
+        final FloatArray produced = CompletableFuture.supplyAsync(() -> {
+            FloatArray array = FloatArray.shared(16);
+            array.set(3, 42.0f);
+            return array.transfer();
+        }).join();
+
+        assertEquals(42.0f, produced.get(3));
+        produced.close();
+        assertFalse(produced.getSegment().scope().isAlive());
+    }
+
+    @Test
+    public void testTransferredArrayDoesNotCloseMemory() {
+        final FloatArray source = FloatArray.shared(4);
+        final FloatArray target = source.transfer();
+        source.close();
+        assertTrue(target.getSegment().scope().isAlive());
+        assertThrows(IllegalStateException.class, source::transfer);
+        target.close();
+    }
+
+    @Test
+    public void testConfinedArrayCannotTransfer() {
+        try (FloatArray array = new FloatArray(4)) {
+            assertFalse(array.isShareable());
+            assertThrows(IllegalStateException.class, array::transfer);
+        }
+    }
+
+    @Test
+    public void testBulkCopy() {
+        final float[] values = {1, 2, 3, 4, 5, 6};
+        try (FloatArray array = new FloatArray(values)) {
+            assertArrayEquals(values, array.toArray());
+
+            final float[] out = new float[3];
+            array.copyTo(2, out, 0, 3);
+            assertArrayEquals(new float[]{3, 4, 5}, out);
+
+            array.copyFrom(new float[]{9, 8}, 0, 4, 2);
+            assertEquals(9, array.get(4));
+            assertEquals(8, array.get(5));
+            assertThrows(IndexOutOfBoundsException.class, () -> array.copyTo(4, out, 0, 3));
+
+            final float[] sum = new float[1];
+            array.forEachFloat(value -> sum[0] += value);
+            assertEquals(1 + 2 + 3 + 4 + 9 + 8, sum[0]);
+            assertEquals(3, array.asFloatBuffer().get(2));
+        }
+    }
+
+    @Test
+    public void testMappedArrayWritesThroughToFile() throws IOException {
+        final Path file = Files.createTempFile("fastnoise-mapped-", ".bin");
+        try {
+            final float[] expected = new float[8 * 8 * 8];
+            try (FastNoise noise = new FastNoise("Simplex");
+                 FloatArray mapped = FloatArray.map(file, expected.length)) {
+                assertTrue(mapped.isMapped());
+                noise.genUniformGrid3D(mapped, 0, 0, 0, 8, 8, 8, 0.02f, 1337, null);
+                mapped.force();
+                mapped.copyTo(expected);
+            }
+            assertEquals(expected.length * 4L, Files.size(file));
+
+            try (FloatArray reopened = FloatArray.map(file, expected.length, FileChannel.MapMode.READ_ONLY)) {
+                assertArrayEquals(expected, reopened.toArray());
+            }
+            try (FloatArray unmapped = new FloatArray(8)) {
+                assertThrows(IllegalStateException.class, unmapped::force);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.github.fastnoise;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class InterpolatedGridTest {
+    private static final float FREQUENCY = 0.05f;
+
+    @Test
+    public void testLatticePointsMatchFullGrid() {
+        final int size = 16;
+        try (FastNoise simplex = new FastNoise("Simplex");
+             FloatArray full = new FloatArray(size * size * size);
+             FloatArray interpolated = new FloatArray(size * size * size)) {
+            simplex.genUniformGrid3D(full, -8, 0, 4, size, size, size, FREQUENCY, 1337);
+            simplex.genInterpolatedGrid3D(interpolated, -8, 0, 4, size, size, size, 4, 4, 4, FREQUENCY, 1337);
+            for (int z = 0; z < size; z += 4) {
+                for (int y = 0; y < size; y += 4) {
+                    for (int x = 0; x < size; x += 4) {
+                        int i = (z * size + y) * size + x;
+                        assertEquals(full.get(i), interpolated.get(i), 1e-4f);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testAdjacentRegionsJoin() {
+        // Regions start off the lattice. Equal strides sample the lattice as a uniform grid, uneven strides as a
+        // position array, so both lattice paths are exercised.
+        assertRegionsJoin(4, 4);
+        assertRegionsJoin(4, 3);
+    }
+
+    private static void assertRegionsJoin(int xStride, int yStride) {
+        try (FastNoise simplex = new FastNoise("Simplex");
+             FloatArray whole = new FloatArray(30 * 10);
+             FloatArray left = new FloatArray(13 * 10);
+             FloatArray right = new FloatArray(17 * 10)) {
+            simplex.genInterpolatedGrid2D(whole, 3, -5, 30, 10, xStride, yStride, FREQUENCY, 7);
+            simplex.genInterpolatedGrid2D(left, 3, -5, 13, 10, xStride, yStride, FREQUENCY, 7);
+            simplex.genInterpolatedGrid2D(right, 16, -5, 17, 10, xStride, yStride, FREQUENCY, 7);
+            for (int y = 0; y < 10; y++) {
+                for (int x = 0; x < 30; x++) {
+                    float expected = whole.get(y * 30 + x);
+                    float actual = x < 13 ? left.get(y * 13 + x) : right.get(y * 17 + x - 13);
+                    assertEquals(expected, actual, 1e-5f);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRejectsBadArguments() {
+        try (FastNoise simplex = new FastNoise("Simplex"); FloatArray out = new FloatArray(8)) {
+            assertThrows(IllegalArgumentException.class, () -> simplex.genInterpolatedGrid2D(out, 0, 0, 4, 4, 2, 2, FREQUENCY, 1));
+            assertThrows(IllegalArgumentException.class, () -> simplex.genInterpolatedGrid2D(out, 0, 0, 2, 2, 0, 2, FREQUENCY, 1));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.github.fastnoise;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NoiseCacheTest {
+    @Test
+    public void testRepeatedRegionHitsCache() {
+        final NoiseCache cache = new NoiseCache(1 << 20);
+        try (FastNoise noise = new FastNoise("Simplex");
+             FloatArray first = new FloatArray(32 * 32);
+             FloatArray second = new FloatArray(32 * 32)) {
+            final var firstMinMax = cache.genUniformGrid2D(noise, first, 0, 0, 32, 32, 0.02f, 1337);
+            final var secondMinMax = cache.genUniformGrid2D(noise, second, 0, 0, 32, 32, 0.02f, 1337);
+
+            assertEquals(1, cache.missCount());
+            assertEquals(1, cache.hitCount());
+            assertEquals(firstMinMax.min, secondMinMax.min);
+            assertEquals(firstMinMax.max, secondMinMax.max);
+            for (int i = 0; i < first.size(); i++) {
+                assertEquals(first.get(i), second.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testChangedGraphMisses() {
+        final NoiseCache cache = new NoiseCache(1 << 20);
+        try (FastNoise fractal = new FastNoise("FractalFBm");
+             FastNoise source = new FastNoise("Simplex");
+             FloatArray output = new FloatArray(16 * 16)) {
+            fractal.set("Source", source);
+            cache.genUniformGrid2D(fractal, output, 0, 0, 16, 16, 0.02f, 1337);
+            fractal.set("Gain", 0.3f);
+            cache.genUniformGrid2D(fractal, output, 0, 0, 16, 16, 0.02f, 1337);
+            assertEquals(2, cache.missCount());
+            assertEquals(0, cache.hitCount());
+        }
+    }
+
+    @Test
+    public void testChangedSourceMisses() {
+        final NoiseCache cache = new NoiseCache(1 << 20);
+        try (FastNoise fractal = new FastNoise("FractalFBm");
+             FastNoise source = new FastNoise("CellularDistance");
+             FloatArray output = new FloatArray(16 * 16)) {
+            fractal.set("Source", source);
+            final String key = fractal.graphKey();
+            assertSame(key, fractal.graphKey());
+            cache.genUniformGrid2D(fractal, output, 0, 0, 16, 16, 0.02f, 1337);
+            cache.genUniformGrid2D(fractal, output, 0, 0, 16, 16, 0.02f, 1337);
+
+            // Setting a member of a referenced node changes the key of every graph above it
+            source.set("DistanceIndex0", 2);
+            assertNotEquals(key, fractal.graphKey());
+            cache.genUniformGrid2D(fractal, output, 0, 0, 16, 16, 0.02f, 1337);
+            assertEquals(2, cache.missCount());
+            assertEquals(1, cache.hitCount());
+        }
+    }
+
+    @Test
+    public void testEvictsToByteBudget() {
+        final NoiseCache cache = new NoiseCache(2 * 16 * 16 * 4);
+        try (FastNoise noise = new FastNoise("Simplex");
+             FloatArray output = new FloatArray(16 * 16)) {
+            for (int i = 0; i < 3; i++) {
+                cache.genUniformGrid2D(noise, output, i * 16, 0, 16, 16, 0.02f, 1337);
+            }
+            assertEquals(2, cache.entryCount());
+            assertEquals(1, cache.evictionCount());
+            assertTrue(cache.sizeBytes() <= 2 * 16 * 16 * 4);
+        }
+    }
+}
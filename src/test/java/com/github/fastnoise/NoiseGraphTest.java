@@ -0,0 +1,70 @@
+package com.github.fastnoise;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NoiseGraphTest {
+    private static final int SIZE = 32;
+
+    private static FastNoise fractal() {
+        FastNoise fractal = new FastNoise("FractalFBm");
+        // The fractal keeps its own reference to the source, only the returned root needs closing
+        try (FastNoise source = new FastNoise("Simplex")) {
+            fractal.set("Source", source);
+        }
+        fractal.set("Gain", 0.3f);
+        fractal.set("Octaves", 5);
+        return fractal;
+    }
+
+    @Test
+    public void testGraphIsFrozenCopy() {
+        FastNoise source = fractal();
+        try (NoiseGraph graph = NoiseGraph.of(source)) {
+            float before = graph.shared().genSingle3D(1, 2, 3, 1337);
+            assertEquals(source.graphKey(), graph.shared().graphKey());
+
+            source.set("Gain", 0.9f);
+            assertEquals(before, graph.shared().genSingle3D(1, 2, 3, 1337));
+            assertEquals(before, graph.local().genSingle3D(1, 2, 3, 1337));
+
+            assertThrows(IllegalStateException.class, () -> graph.shared().set("Gain", 0.5f));
+            assertThrows(IllegalStateException.class, () -> graph.local().floatMember("Gain").set(0.5f));
+            assertThrows(IllegalStateException.class, () -> graph.shared().close());
+        }
+        source.close();
+    }
+
+    @Test
+    public void testParallelGenerationMatchesSerial() throws Exception {
+        try (FastNoise source = fractal();
+             NoiseGraph graph = NoiseGraph.of(source);
+             FloatArray expected = new FloatArray(SIZE * SIZE * SIZE)) {
+            graph.shared().genUniformGrid3D(expected, 0, 0, 0, SIZE, SIZE, SIZE, 0.02f, 1337);
+            float[] reference = expected.toArray();
+
+            int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+            try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+                List<Future<float[]>> results = new ArrayList<>();
+                for (int i = 0; i < threads * 4; i++) {
+                    final boolean useLocal = i % 2 == 0;
+                    results.add(executor.submit(() -> {
+                        FastNoise noise = useLocal ? graph.local() : graph.shared();
+                        try (FloatArray out = new FloatArray(SIZE * SIZE * SIZE)) {
+                            noise.genUniformGrid3D(out, 0, 0, 0, SIZE, SIZE, SIZE, 0.02f, 1337);
+                            return out.toArray();
+                        }
+                    }));
+                }
+                for (Future<float[]> result : results) {
+                    assertArrayEquals(reference, result.get());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.github.fastnoise;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NoiseKernelsTest {
+    // Not a multiple of any vector length, so the scalar tail runs too
+    private static final int SIZE = 67;
+
+    private static FloatArray ramp() {
+        final FloatArray array = new FloatArray(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            array.set(i, i / (float) (SIZE - 1) * 2 - 1);
+        }
+        return array;
+    }
+
+    @Test
+    public void testNormalizeAndClamp() {
+        try (FloatArray array = ramp()) {
+            NoiseKernels.normalize(array, new FastNoise.OutputMinMax(-1, 1), 0, 255);
+            assertEquals(0, array.get(0), 1e-4f);
+            assertEquals(255, array.get(SIZE - 1), 1e-3f);
+
+            NoiseKernels.clamp(array, 10, 200);
+            for (int i = 0; i < SIZE; i++) {
+                assertTrue(array.get(i) >= 10 && array.get(i) <= 200);
+            }
+        }
+    }
+
+    @Test
+    public void testThresholdAbsPowIntoOtherBuffer() {
+        try (FloatArray src = ramp(); FloatArray dst = new FloatArray(SIZE)) {
+            NoiseKernels.threshold(src, dst, 0, -5, 5);
+            for (int i = 0; i < SIZE; i++) {
+                assertEquals(src.get(i) < 0 ? -5 : 5, dst.get(i));
+            }
+
+            NoiseKernels.abs(src, dst);
+            NoiseKernels.pow(dst, 2);
+            for (int i = 0; i < SIZE; i++) {
+                assertEquals(src.get(i) * src.get(i), dst.get(i), 1e-5f);
+            }
+        }
+    }
+
+    @Test
+    public void testVectorMatchesScalar() {
+        final NoiseKernels.Kernels scalar = new ScalarKernels();
+        try (FloatArray src = ramp(); FloatArray expected = new FloatArray(SIZE); FloatArray actual = new FloatArray(SIZE)) {
+            scalar.affine(src.getSegment(), expected.getSegment(), SIZE, 3.5f, -0.25f);
+            NoiseKernels.affine(src, actual, 3.5f, -0.25f);
+            for (int i = 0; i < SIZE; i++) {
+                assertEquals(expected.get(i), actual.get(i), 1e-6f);
+            }
+        }
+    }
+}
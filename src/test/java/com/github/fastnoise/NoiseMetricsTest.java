@@ -0,0 +1,88 @@
+package com.github.fastnoise;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NoiseMetricsTest {
+    @Test
+    public void testMetricsCountCalls() {
+        try (FastNoise simplex = new FastNoise("Simplex");
+             FloatArray out = new FloatArray(16 * 16)) {
+            NoiseMetrics.reset();
+            NoiseMetrics.enable();
+            try {
+                simplex.genUniformGrid2D(out, 0, 0, 16, 16, 0.02f, 1337);
+                simplex.genUniformGrid2D(out, 16, 0, 16, 16, 0.02f, 1337);
+                simplex.genSingle3D(1, 2, 3, 1337);
+            } finally {
+                NoiseMetrics.disable();
+            }
+            simplex.genUniformGrid2D(out, 32, 0, 16, 16, 0.02f, 1337);
+
+            NoiseMetrics.Snapshot grid = NoiseMetrics.snapshot(NoiseMetrics.Operation.GEN_UNIFORM_GRID_2D);
+            assertEquals(2, grid.calls());
+            assertEquals(2 * 16 * 16, grid.points());
+            assertEquals(2, Arrays.stream(grid.histogram()).sum());
+            assertTrue(grid.percentileNanos(99) >= grid.percentileNanos(50));
+            assertEquals(1, NoiseMetrics.snapshot(NoiseMetrics.Operation.GEN_SINGLE_3D).calls());
+        }
+    }
+
+    @Test
+    public void testFailedCallsAreRecorded() throws Exception {
+        try (FastNoise simplex = new FastNoise("Simplex");
+             FloatArray confined = new FloatArray(16 * 16)) {
+            NoiseMetrics.reset();
+            NoiseMetrics.enable();
+            try {
+                // A confined array cannot be passed to the native side from another thread
+                CompletableFuture.runAsync(() -> assertThrows(ExternalLibraryException.class,
+                        () -> simplex.genUniformGrid2D(confined, 0, 0, 16, 16, 0.02f, 1337))).get();
+            } finally {
+                NoiseMetrics.disable();
+            }
+
+            NoiseMetrics.Snapshot grid = NoiseMetrics.snapshot(NoiseMetrics.Operation.GEN_UNIFORM_GRID_2D);
+            assertEquals(1, grid.calls());
+            assertEquals(1, grid.failures());
+            assertEquals(0, grid.points());
+        }
+    }
+
+    @Test
+    public void testFlightRecorderEvent() throws IOException {
+        Path file = Files.createTempFile("fastnoise", ".jfr");
+        try (FastNoise simplex = new FastNoise("Simplex");
+             FloatArray out = new FloatArray(8 * 8 * 8);
+             Recording recording = new Recording()) {
+            recording.enable("com.github.fastnoise.Generation");
+            recording.start();
+            simplex.genUniformGrid3D(out, 0, 0, 0, 8, 8, 8, 0.02f, 1337);
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .filter(e -> e.getEventType().getName().equals("com.github.fastnoise.Generation"))
+                    .toList();
+            assertEquals(1, events.size());
+            assertEquals("simplex", events.get(0).getString("nodeType"));
+            assertEquals(3, events.get(0).getInt("dimensions"));
+            assertEquals(512, events.get(0).getLong("pointCount"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.github.fastnoise;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NoiseQuantizerTest {
+    @Test
+    public void testTiledOutputRangeMatchesFullGrid() {
+        final int size = 64;
+        try (FastNoise noise = new FastNoise("Simplex");
+             FloatArray expected = new FloatArray(size * size);
+             ShortArray quantized = new ShortArray(size * size);
+             // Scratch holds 5 rows, the grid needs 13 tiles
+             NoiseQuantizer quantizer = new NoiseQuantizer(size * 5)) {
+            final var expectedRange = noise.genUniformGrid2D(expected, 0, 0, size, size, 0.02f, 1337);
+            final var range = quantizer.genUniformGrid2D(noise, quantized, 0, 0, size, size, 0.02f, 1337, Quantization.outputRange());
+
+            assertEquals(expectedRange.min, range.min);
+            assertEquals(expectedRange.max, range.max);
+            final float step = (range.max - range.min) / ShortArray.MAX_UNSIGNED;
+            for (int i = 0; i < expected.size(); i++) {
+                final float restored = Quantization.dequantize(quantized.getUnsigned(i), ShortArray.MAX_UNSIGNED, range);
+                assertEquals(expected.get(i), restored, step);
+            }
+        }
+    }
+
+    @Test
+    public void testFixedRangeClamps() {
+        try (FastNoise noise = new FastNoise("Simplex");
+             ByteArray quantized = new ByteArray(16 * 16 * 16);
+             NoiseQuantizer quantizer = new NoiseQuantizer()) {
+            final var range = quantizer.genUniformGrid3D(noise, quantized, 0, 0, 0, 16, 16, 16, 0.05f, 1337, Quantization.fixed(-0.1f, 0.1f));
+            assertEquals(-0.1f, range.min);
+            boolean sawMin = false;
+            boolean sawMax = false;
+            for (int i = 0; i < quantized.size(); i++) {
+                sawMin |= quantized.getUnsigned(i) == 0;
+                sawMax |= quantized.getUnsigned(i) == ByteArray.MAX_UNSIGNED;
+            }
+            assertTrue(sawMin && sawMax);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.github.fastnoise;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NoiseRequestBatcherTest {
+    private static final int CHUNK = 16;
+
+    // Batched results must be bit for bit what a direct call returns
+    private static void assertMatchesDirect(FastNoise noise, NoiseResult result, int xStart, int yStart) {
+        try (FloatArray expected = new FloatArray(CHUNK * CHUNK)) {
+            final FastNoise.OutputMinMax minMax = noise.genUniformGrid2D(expected, xStart, yStart, CHUNK, CHUNK, 0.01f, 1337);
+            assertArrayEquals(expected.toArray(), result.data().toArray());
+            assertEquals(minMax.min, result.minMax().min);
+            assertEquals(minMax.max, result.minMax().max);
+        }
+    }
+
+    @Test
+    public void testAdjacentRequestsShareOneCall() {
+        NoiseRequestBatcher batcher = new NoiseRequestBatcher();
+        List<FloatArray> outputs = new ArrayList<>();
+        List<CompletableFuture<NoiseResult>> results = new ArrayList<>();
+        try (FastNoise simplex = new FastNoise("Simplex")) {
+            for (int cz = 0; cz < 4; cz++) {
+                for (int cx = 0; cx < 4; cx++) {
+                    FloatArray out = new FloatArray(CHUNK * CHUNK);
+                    outputs.add(out);
+                    results.add(batcher.genUniformGrid2D(simplex, out, cx * CHUNK, cz * CHUNK, CHUNK, CHUNK, 0.01f, 1337));
+                }
+            }
+            assertEquals(16, batcher.pendingCount());
+            assertFalse(results.getFirst().isDone());
+
+            NoiseMetrics.reset();
+            NoiseMetrics.enable();
+            try {
+                batcher.flush();
+            } finally {
+                NoiseMetrics.disable();
+            }
+            assertEquals(1, NoiseMetrics.snapshot(NoiseMetrics.Operation.GEN_UNIFORM_GRID_2D).calls());
+
+            for (int i = 0; i < results.size(); i++) {
+                NoiseResult result = results.get(i).join();
+                assertSame(outputs.get(i), result.data());
+                assertMatchesDirect(simplex, result, (i % 4) * CHUNK, (i / 4) * CHUNK);
+            }
+        } finally {
+            outputs.forEach(FloatArray::close);
+        }
+    }
+
+    @Test
+    public void testScatteredRequestsMatchDirectCalls() {
+        NoiseRequestBatcher batcher = new NoiseRequestBatcher();
+        try (FastNoise simplex = new FastNoise("Simplex");
+             FloatArray near = new FloatArray(CHUNK * CHUNK);
+             FloatArray far = new FloatArray(CHUNK * CHUNK)) {
+            CompletableFuture<NoiseResult> nearResult = batcher.genUniformGrid2D(simplex, near, 0, 0, CHUNK, CHUNK, 0.01f, 1337);
+            CompletableFuture<NoiseResult> farResult = batcher.genUniformGrid2D(simplex, far, 4096, -4096, CHUNK, CHUNK, 0.01f, 1337);
+            batcher.flush();
+            assertMatchesDirect(simplex, nearResult.join(), 0, 0);
+            assertMatchesDirect(simplex, farResult.join(), 4096, -4096);
+        }
+    }
+
+    @Test
+    public void testFlushesWhenFull() {
+        NoiseRequestBatcher batcher = new NoiseRequestBatcher(2, 2);
+        try (FastNoise simplex = new FastNoise("Simplex");
+             FloatArray first = new FloatArray(CHUNK * CHUNK);
+             FloatArray second = new FloatArray(CHUNK * CHUNK)) {
+            CompletableFuture<NoiseResult> firstResult = batcher.genUniformGrid2D(simplex, first, 0, 0, CHUNK, CHUNK, 0.01f, 1337);
+            assertFalse(firstResult.isDone());
+            batcher.genUniformGrid2D(simplex, second, CHUNK, 0, CHUNK, CHUNK, 0.01f, 1337);
+            assertTrue(firstResult.isDone());
+            assertEquals(0, batcher.pendingCount());
+        }
+    }
+
+    @Test
+    public void testManyScatteredRequests() {
+        NoiseRequestBatcher batcher = new NoiseRequestBatcher(4096, 2);
+        List<FloatArray> outputs = new ArrayList<>();
+        List<CompletableFuture<NoiseResult>> results = new ArrayList<>();
+        try (FastNoise simplex = new FastNoise("Simplex")) {
+            // Far enough apart that no two requests merge, each one is tried against a bounded number of clusters
+            for (int i = 0; i < 2000; i++) {
+                FloatArray out = new FloatArray(CHUNK * CHUNK);
+                outputs.add(out);
+                results.add(batcher.genUniformGrid2D(simplex, out, (i % 50) * 1024, (i / 50) * 1024, CHUNK, CHUNK, 0.01f, 1337));
+            }
+            batcher.flush();
+            assertMatchesDirect(simplex, results.get(1234).join(), (1234 % 50) * 1024, (1234 / 50) * 1024);
+            results.forEach(result -> assertTrue(result.isDone()));
+        } finally {
+            outputs.forEach(FloatArray::close);
+        }
+    }
+}
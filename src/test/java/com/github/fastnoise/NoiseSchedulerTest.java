@@ -0,0 +1,194 @@
+package com.github.fastnoise;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NoiseSchedulerTest {
+    private static final NoiseRegion CHUNK = NoiseRegion.uniformGrid2D(0, 0, 16, 16);
+    // Keeps a single worker busy long enough to queue the requests under test behind it
+    private static final NoiseRegion BLOCKER = NoiseRegion.uniformGrid3D(0, 0, 0, 128, 128, 64);
+
+    private static FastNoise fractal() {
+        FastNoise fractal = new FastNoise("FractalFBm");
+        // The fractal keeps its own reference to the source, only the returned root needs closing
+        try (FastNoise source = new FastNoise("Simplex")) {
+            fractal.set("Source", source);
+        }
+        fractal.set("Octaves", 8);
+        return fractal;
+    }
+
+    @Test
+    public void testPriorityOrder() {
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        try (NoiseScheduler scheduler = new NoiseScheduler(1);
+             FastNoise fractal = fractal();
+             FloatArray blocker = FloatArray.shared((int) BLOCKER.pointCount())) {
+            List<FloatArray> outputs = new ArrayList<>();
+            List<CompletableFuture<?>> futures = new ArrayList<>();
+            futures.add(scheduler.submit(fractal, BLOCKER, blocker, 0.02f, 1, 0));
+            for (int priority : new int[]{100, 100, 5, 100, 1}) {
+                FloatArray out = FloatArray.shared(16 * 16);
+                outputs.add(out);
+                futures.add(scheduler.submit(fractal, CHUNK, out, 0.02f, 1, priority).thenRun(() -> order.add(priority)));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+            assertEquals(List.of(1, 5, 100, 100, 100), order);
+            assertEquals(6, scheduler.completedCount());
+            outputs.forEach(FloatArray::close);
+        }
+    }
+
+    @Test
+    public void testCancelledAndExpiredRequestsAreDropped() {
+        try (NoiseScheduler scheduler = new NoiseScheduler(1);
+             FastNoise fractal = fractal();
+             FloatArray blocker = FloatArray.shared((int) BLOCKER.pointCount());
+             FloatArray first = FloatArray.shared(16 * 16);
+             FloatArray second = FloatArray.shared(16 * 16);
+             FloatArray third = FloatArray.shared(16 * 16)) {
+            CompletableFuture<NoiseResult> blocking = scheduler.submit(fractal, BLOCKER, blocker, 0.02f, 1, 0);
+
+            NoiseScheduler.CancellationToken token = new NoiseScheduler.CancellationToken();
+            CompletableFuture<NoiseResult> cancelled = scheduler.genUniformGrid2D(fractal, first, 0, 0, 16, 16, 0.02f, 1, 1, token);
+            CompletableFuture<NoiseResult> expired = scheduler.submit(fractal, CHUNK, second, 0.02f, 1, 1, null, Duration.ofNanos(1));
+            CompletableFuture<NoiseResult> kept = scheduler.submit(fractal, CHUNK, third, 0.02f, 1, 2);
+            token.cancel();
+
+            blocking.join();
+            assertSame(third, kept.join().data());
+            CompletionException cancellation = assertThrows(CompletionException.class, cancelled::join);
+            assertInstanceOf(CancellationException.class, cancellation.getCause());
+            CompletionException timeout = assertThrows(CompletionException.class, expired::join);
+            assertInstanceOf(TimeoutException.class, timeout.getCause());
+
+            assertEquals(1, scheduler.cancelledCount());
+            assertEquals(1, scheduler.expiredCount());
+            assertEquals(2 * 16 * 16, scheduler.cancelledPointCount());
+            assertEquals(2, scheduler.completedCount());
+            assertTrue(scheduler.maxWaitNanos() > 0);
+        }
+    }
+
+    @Test
+    public void testErrorFailsOnlyItsRequest() {
+        try (NoiseScheduler scheduler = new NoiseScheduler(1);
+             FastNoise broken = new FastNoise("Simplex") {
+                 @Override
+                 public void genUniformGrid2D(FloatArray noiseOut, int xStart, int yStart, int xSize, int ySize, float frequency, int seed, OutputMinMax outputMinMax) {
+                     throw new AssertionError("broken node");
+                 }
+             };
+             FastNoise simplex = new FastNoise("Simplex");
+             FloatArray first = FloatArray.shared(16 * 16);
+             FloatArray second = FloatArray.shared(16 * 16)) {
+            CompletableFuture<NoiseResult> failed = scheduler.submit(broken, CHUNK, first, 0.02f, 1, 0);
+            CompletableFuture<NoiseResult> next = scheduler.submit(simplex, CHUNK, second, 0.02f, 1, 0);
+
+            CompletionException error = assertThrows(CompletionException.class, failed::join);
+            assertInstanceOf(AssertionError.class, error.getCause());
+            // The single worker survived the error and ran the next request
+            assertSame(second, next.join().data());
+        }
+    }
+
+    @Test
+    public void testParallelResultsMatchDirectCall() {
+        try (NoiseScheduler scheduler = new NoiseScheduler(4);
+             FastNoise fractal = fractal();
+             FloatArray expected = new FloatArray(32 * 32)) {
+            fractal.genUniformGrid2D(expected, 0, 0, 32, 32, 0.02f, 7);
+            List<FloatArray> outputs = new ArrayList<>();
+            List<CompletableFuture<NoiseResult>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                FloatArray out = FloatArray.shared(32 * 32);
+                outputs.add(out);
+                futures.add(scheduler.genUniformGrid2D(fractal, out, 0, 0, 32, 32, 0.02f, 7, i % 8, null));
+            }
+            for (CompletableFuture<NoiseResult> future : futures) {
+                assertArrayEquals(expected.toArray(), future.join().data().toArray());
+            }
+            assertEquals(64, scheduler.completedCount());
+            assertEquals(0, scheduler.queueDepth());
+            outputs.forEach(FloatArray::close);
+        }
+    }
+
+    @Test
+    public void testRequestsSpreadAcrossWorkers() {
+        Set<Thread> workers = ConcurrentHashMap.newKeySet();
+        // Each of the first two generations waits for the other, so they can only finish on two different workers
+        CountDownLatch together = new CountDownLatch(2);
+        try (NoiseScheduler scheduler = new NoiseScheduler(4);
+             FastNoise recording = new FastNoise("Simplex") {
+                 @Override
+                 public void genUniformGrid2D(FloatArray noiseOut, int xStart, int yStart, int xSize, int ySize, float frequency, int seed, OutputMinMax outputMinMax) {
+                     workers.add(Thread.currentThread());
+                     together.countDown();
+                     try {
+                         assertTrue(together.await(10, TimeUnit.SECONDS));
+                     } catch (InterruptedException e) {
+                         throw new AssertionError(e);
+                     }
+                     super.genUniformGrid2D(noiseOut, xStart, yStart, xSize, ySize, frequency, seed, outputMinMax);
+                 }
+             }) {
+            List<FloatArray> outputs = new ArrayList<>();
+            List<CompletableFuture<NoiseResult>> futures = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                FloatArray out = FloatArray.shared(16 * 16);
+                outputs.add(out);
+                futures.add(scheduler.submit(recording, CHUNK, out, 0.02f, 1, 0));
+            }
+            futures.forEach(CompletableFuture::join);
+            assertTrue(workers.size() > 1, "Requests ran on " + workers.size() + " worker(s)");
+            assertTrue(workers.size() <= scheduler.workerCount());
+            outputs.forEach(FloatArray::close);
+        }
+    }
+
+    @Test
+    public void testCloseWaitsForRunningGeneration() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean finished = new AtomicBoolean();
+        try (FastNoise slow = new FastNoise("Simplex") {
+                 @Override
+                 public void genUniformGrid2D(FloatArray noiseOut, int xStart, int yStart, int xSize, int ySize, float frequency, int seed, OutputMinMax outputMinMax) {
+                     started.countDown();
+                     try {
+                         Thread.sleep(500);
+                     } catch (InterruptedException e) {
+                         // close must not cut a running generation short
+                     }
+                     super.genUniformGrid2D(noiseOut, xStart, yStart, xSize, ySize, frequency, seed, outputMinMax);
+                     finished.set(true);
+                 }
+             };
+             FloatArray out = FloatArray.shared(16 * 16)) {
+            NoiseScheduler scheduler = new NoiseScheduler(1);
+            CompletableFuture<NoiseResult> running = scheduler.submit(slow, CHUNK, out, 0.02f, 1, 0);
+            CompletableFuture<NoiseResult> queued = scheduler.submit(slow, CHUNK, out, 0.02f, 1, 0);
+            started.await();
+            scheduler.close();
+            // Nothing writes into out anymore once close has returned
+            assertTrue(finished.get());
+            assertTrue(running.isDone());
+            assertThrows(CancellationException.class, queued::join);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.github.fastnoise;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NoiseTileStreamTest {
+    private static final int SIZE = 50;
+    private static final int TILE = 16;
+
+    private static Set<Long> collectTiles(TileOrder order) throws Exception {
+        final CompletableFuture<Set<Long>> result = new CompletableFuture<>();
+        try (FastNoise noise = new FastNoise("Simplex");
+             FloatArray expected = new FloatArray(SIZE * SIZE * SIZE)) {
+            noise.genUniformGrid3D(expected, 0, 0, 0, SIZE, SIZE, SIZE, 0.02f, 1337, null);
+            final var stream = new NoiseTileStream(noise, NoiseRegion.uniformGrid3D(0, 0, 0, SIZE, SIZE, SIZE), TILE, 0.02f, 1337,
+                    order, Runnable::run, 1);
+
+            final Set<Long> points = new HashSet<>();
+            stream.subscribe(new Flow.Subscriber<>() {
+                private Flow.Subscription subscription;
+
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                    this.subscription = subscription;
+                    subscription.request(1);
+                }
+
+                @Override
+                public void onNext(NoiseTile tile) {
+                    final NoiseRegion region = tile.region();
+                    int index = 0;
+                    for (int z = 0; z < region.zSize(); z++) {
+                        for (int y = 0; y < region.ySize(); y++) {
+                            for (int x = 0; x < region.xSize(); x++) {
+                                final int gx = region.xStart() + x;
+                                final int gy = region.yStart() + y;
+                                final int gz = region.zStart() + z;
+                                assertEquals(expected.get(gx + gy * SIZE + gz * SIZE * SIZE), tile.data().get(index++));
+                                assertTrue(points.add(gx + (long) gy * SIZE + (long) gz * SIZE * SIZE));
+                            }
+                        }
+                    }
+                    // A single buffer: the next tile is only generated after this one is released
+                    tile.close();
+                    subscription.request(1);
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    result.completeExceptionally(throwable);
+                }
+
+                @Override
+                public void onComplete() {
+                    result.complete(points);
+                }
+            });
+            return result.get(30, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testEveryOrderCoversRegionOnce() throws Exception {
+        for (TileOrder order : TileOrder.values()) {
+            assertEquals(SIZE * SIZE * SIZE, collectTiles(order).size(), order.name());
+        }
+    }
+
+    @Test
+    public void testHilbertTilesAreAdjacent() {
+        final TileCursor cursor = new TileCursor(TileOrder.HILBERT, 8, 8, 1);
+        final int[] previous = new int[3];
+        final int[] tile = new int[3];
+        assertTrue(cursor.next(previous));
+        while (cursor.next(tile)) {
+            assertEquals(1, Math.abs(tile[0] - previous[0]) + Math.abs(tile[1] - previous[1]));
+            System.arraycopy(tile, 0, previous, 0, 3);
+        }
+    }
+
+    @Test
+    public void testCurvesWalkLongThinGrids() {
+        final int length = 1 << 16;
+        for (TileOrder order : new TileOrder[]{TileOrder.MORTON, TileOrder.HILBERT}) {
+            for (int[] counts : new int[][]{{length, 1, 1}, {3, length, 1}, {2, 1, length}}) {
+                // Visiting every code of the enclosing 2^16 square or cube would not finish in time
+                assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                    final TileCursor cursor = new TileCursor(order, counts[0], counts[1], counts[2]);
+                    final int[] tile = new int[3];
+                    final Set<Long> tiles = new HashSet<>();
+                    while (cursor.next(tile)) {
+                        assertTrue(tile[0] < counts[0] && tile[1] < counts[1] && tile[2] < counts[2]);
+                        assertTrue(tiles.add(tile[0] + (long) tile[1] * length + (long) tile[2] * length * length));
+                    }
+                    assertEquals((long) counts[0] * counts[1] * counts[2], tiles.size());
+                }, order.name());
+            }
+        }
+    }
+
+    @Test
+    public void testOversizedCurveIsRejected() {
+        try (FastNoise noise = new FastNoise("Simplex")) {
+            final NoiseRegion region = NoiseRegion.uniformGrid3D(0, 0, 0, 1 << 22, 2, 2);
+            assertThrows(IllegalArgumentException.class,
+                    () -> new NoiseTileStream(noise, region, 1, 0.02f, 1337, TileOrder.MORTON, Runnable::run, 1));
+            new NoiseTileStream(noise, region, 1, 0.02f, 1337, TileOrder.ROW_MAJOR, Runnable::run, 1);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.github.fastnoise;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelNoiseGeneratorTest {
+    @Test
+    public void testGenUniformGrid3DMatchesSingleCall() {
+        final int size = 32;
+        try (FastNoise noise = new FastNoise("Simplex");
+             FloatArray expected = new FloatArray(size * size * size);
+             FloatArray actual = FloatArray.shared(size * size * size);
+             ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            final FastNoise.OutputMinMax expectedMinMax = noise.genUniformGrid3D(expected, -8, 4, 16, size, size, size, 0.02f, 1337);
+
+            final var generator = new ParallelNoiseGenerator(executor, 5);
+            final FastNoise.OutputMinMax minMax = generator.genUniformGrid3D(noise, actual, -8, 4, 16, size, size, size, 0.02f, 1337);
+
+            assertEquals(expectedMinMax.min, minMax.min);
+            assertEquals(expectedMinMax.max, minMax.max);
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i), actual.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testConfinedOutputIsRejected() {
+        try (FastNoise noise = new FastNoise("Simplex");
+             FloatArray output = new FloatArray(64 * 64)) {
+            final var generator = new ParallelNoiseGenerator();
+            assertThrows(IllegalArgumentException.class, () -> generator.genUniformGrid2D(noise, output, 0, 0, 64, 64, 0.02f, 1337));
+        }
+    }
+}
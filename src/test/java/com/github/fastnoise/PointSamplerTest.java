@@ -0,0 +1,22 @@
+package com.github.fastnoise;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PointSamplerTest {
+    @Test
+    public void testMatchesGenSingle() {
+        try (FastNoise noise = new FastNoise("Simplex");
+             PointSampler sampler = new PointSampler(noise, 3, 8, 1337)) {
+            for (int i = 0; i < 8; i++) {
+                assertEquals(i, sampler.add(i * 0.25f, 1.5f, -3));
+            }
+            assertTrue(sampler.isFull());
+            assertThrows(IllegalStateException.class, () -> sampler.add(0, 0, 0));
+
+            sampler.flush((index, value) -> assertEquals(noise.genSingle3D(index * 0.25f, 1.5f, -3, 1337), value, 1e-6f));
+            assertEquals(0, sampler.size());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.github.fastnoise;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PositionBatchTest {
+    @Test
+    public void testReuseForSmallerBatch() {
+        try (FastNoise simplex = new FastNoise("Simplex");
+             PositionBatch batch = new PositionBatch(3, 64);
+             FloatArray out = new FloatArray(64)) {
+            for (int i = 0; i < 64; i++) {
+                batch.add(i * 0.1f, i * 0.2f, i * 0.3f);
+            }
+            assertTrue(batch.isFull());
+            simplex.genPositionArray3D(out, batch, 0, 0, 0, 1337, null);
+
+            batch.clear();
+            assertEquals(0, batch.add(5, 6, 7));
+            batch.add(8, 9, 10);
+            out.set(2, 42);
+            simplex.genPositionArray3D(out, batch, 0, 0, 0, 1337, null);
+            assertEquals(simplex.genSingle3D(5, 6, 7, 1337), out.get(0), 1e-6f);
+            assertEquals(simplex.genSingle3D(8, 9, 10, 1337), out.get(1), 1e-6f);
+            // Only the first count points are written
+            assertEquals(42, out.get(2));
+        }
+    }
+
+    @Test
+    public void testCountAndLengthChecks() {
+        try (FastNoise simplex = new FastNoise("Simplex");
+             PositionBatch batch = new PositionBatch(2, 4);
+             FloatArray out = new FloatArray(4);
+             FloatArray shortAxis = new FloatArray(3)) {
+            assertThrows(IllegalArgumentException.class, () -> batch.add(1, 2, 3));
+            assertThrows(IndexOutOfBoundsException.class, () -> batch.setCount(5));
+            assertThrows(IllegalArgumentException.class, () -> simplex.genPositionArray3D(out, batch, 0, 0, 0, 1, null));
+            assertThrows(IllegalArgumentException.class, () -> simplex.genPositionArray2D(out, batch.x(), shortAxis, 0, 0, 1, null));
+            assertThrows(IllegalArgumentException.class, () -> simplex.genPositionArray2D(out, 4, batch.x(), shortAxis, 0, 0, 1, null));
+        }
+    }
+}
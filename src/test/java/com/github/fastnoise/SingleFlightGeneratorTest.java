@@ -0,0 +1,115 @@
+package com.github.fastnoise;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightGeneratorTest {
+    @Test
+    public void testConcurrentRequestsShareGeneration() throws Exception {
+        final int threads = 8;
+        final int size = 96;
+        SingleFlightGenerator generator = new SingleFlightGenerator();
+        FastNoise fractal = new FastNoise("FractalFBm");
+        try (FastNoise source = new FastNoise("Simplex")) {
+            fractal.set("Source", source);
+        }
+        fractal.set("Octaves", 8);
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<SingleFlightGenerator.SharedResult> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<SingleFlightGenerator.SharedResult>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return generator.genUniformGrid3D(fractal, 0, 0, 0, size, size, size, 0.02f, 1337);
+                }));
+            }
+            start.countDown();
+            for (Future<SingleFlightGenerator.SharedResult> future : futures) {
+                results.add(future.get());
+            }
+        }
+
+        assertEquals(threads, generator.generationCount() + generator.joinCount());
+        // All threads are released together and one generation takes far longer than a map lookup
+        assertTrue(generator.generationCount() < threads);
+        assertEquals(0, generator.inFlightCount());
+
+        try (FloatArray expected = new FloatArray(size * size * size)) {
+            fractal.genUniformGrid3D(expected, 0, 0, 0, size, size, size, 0.02f, 1337);
+            for (SingleFlightGenerator.SharedResult result : results) {
+                assertEquals(expected.get(size * size * size - 1), result.data().get(size * size * size - 1));
+            }
+        }
+
+        // The buffer is released with the last reference
+        SingleFlightGenerator.SharedResult first = results.getFirst();
+        for (SingleFlightGenerator.SharedResult result : results) {
+            result.close();
+        }
+        assertThrows(IllegalStateException.class, () -> first.data().get(0));
+        fractal.close();
+    }
+
+    @Test
+    public void testSequentialRequestsGenerateAgain() {
+        SingleFlightGenerator generator = new SingleFlightGenerator();
+        try (FastNoise simplex = new FastNoise("Simplex");
+             FloatArray out = new FloatArray(16 * 16)) {
+            FastNoise.OutputMinMax first = generator.generate(simplex, NoiseRegion.uniformGrid2D(0, 0, 16, 16), out, 0.02f, 1);
+            FastNoise.OutputMinMax second = generator.generate(simplex, NoiseRegion.uniformGrid2D(0, 0, 16, 16), out, 0.02f, 1);
+            assertEquals(first.min, second.min);
+            assertEquals(2, generator.generationCount());
+            assertEquals(0, generator.joinCount());
+        }
+    }
+
+    @Test
+    public void testHoldersOnlyGetReadOnlyViews() {
+        SingleFlightGenerator generator = new SingleFlightGenerator();
+        try (FastNoise simplex = new FastNoise("Simplex")) {
+            SingleFlightGenerator.SharedResult result = generator.genUniformGrid2D(simplex, 0, 0, 16, 16, 0.02f, 1);
+            FloatArray data = result.data();
+            assertThrows(UnsupportedOperationException.class, () -> data.set(0, 1.0f));
+            // Closing the view does not free the shared buffer
+            data.close();
+            float first = data.get(0);
+            assertEquals(first, result.data().get(0));
+
+            result.close();
+            assertThrows(IllegalStateException.class, () -> data.get(0));
+        }
+    }
+
+    @Test
+    public void testJoinersSeeLeaderError() throws Exception {
+        SingleFlightGenerator generator = new SingleFlightGenerator();
+        CountDownLatch generating = new CountDownLatch(1);
+        AssertionError failure = new AssertionError("broken node");
+        try (FastNoise broken = new FastNoise("Simplex") {
+            @Override
+            public void genUniformGrid2D(FloatArray noiseOut, int xStart, int yStart, int xSize, int ySize, float frequency, int seed, OutputMinMax outputMinMax) {
+                generating.countDown();
+                // Hold the flight open until the other request has joined it
+                while (generator.joinCount() == 0) {
+                    Thread.onSpinWait();
+                }
+                throw failure;
+            }
+        }; ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<?> leader = executor.submit(() -> generator.genUniformGrid2D(broken, 0, 0, 16, 16, 0.02f, 1));
+            generating.await();
+            Future<?> joiner = executor.submit(() -> generator.genUniformGrid2D(broken, 0, 0, 16, 16, 0.02f, 1));
+
+            assertSame(failure, assertThrows(ExecutionException.class, leader::get).getCause());
+            assertSame(failure, assertThrows(ExecutionException.class, joiner::get).getCause());
+            assertEquals(1, generator.generationCount());
+        }
+    }
+}
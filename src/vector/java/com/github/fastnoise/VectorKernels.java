@@ -0,0 +1,117 @@
+package com.github.fastnoise;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteOrder;
+
+import static java.lang.foreign.ValueLayout.JAVA_FLOAT;
+
+// Only loaded when the jdk.incubator.vector module is present, see NoiseKernels
+final class VectorKernels implements NoiseKernels.Kernels {
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+    private static final ByteOrder ORDER = ByteOrder.nativeOrder();
+
+    private static FloatVector load(MemorySegment segment, int index) {
+        return FloatVector.fromMemorySegment(SPECIES, segment, index * JAVA_FLOAT.byteSize(), ORDER);
+    }
+
+    private static void store(FloatVector vector, MemorySegment segment, int index) {
+        vector.intoMemorySegment(segment, index * JAVA_FLOAT.byteSize(), ORDER);
+    }
+
+    @Override
+    public void affine(MemorySegment src, MemorySegment dst, int count, float scale, float offset) {
+        final int bound = SPECIES.loopBound(count);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            store(load(src, i).mul(scale).add(offset), dst, i);
+        }
+        for (; i < count; i++) {
+            dst.setAtIndex(JAVA_FLOAT, i, src.getAtIndex(JAVA_FLOAT, i) * scale + offset);
+        }
+    }
+
+    @Override
+    public void clamp(MemorySegment src, MemorySegment dst, int count, float min, float max) {
+        final int bound = SPECIES.loopBound(count);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            store(load(src, i).max(min).min(max), dst, i);
+        }
+        for (; i < count; i++) {
+            dst.setAtIndex(JAVA_FLOAT, i, Math.min(Math.max(src.getAtIndex(JAVA_FLOAT, i), min), max));
+        }
+    }
+
+    @Override
+    public void abs(MemorySegment src, MemorySegment dst, int count) {
+        final int bound = SPECIES.loopBound(count);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            store(load(src, i).abs(), dst, i);
+        }
+        for (; i < count; i++) {
+            dst.setAtIndex(JAVA_FLOAT, i, Math.abs(src.getAtIndex(JAVA_FLOAT, i)));
+        }
+    }
+
+    @Override
+    public void threshold(MemorySegment src, MemorySegment dst, int count, float threshold, float below, float above) {
+        final FloatVector aboveVector = FloatVector.broadcast(SPECIES, above);
+        final int bound = SPECIES.loopBound(count);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            final VectorMask<Float> isBelow = load(src, i).compare(VectorOperators.LT, threshold);
+            store(aboveVector.blend(below, isBelow), dst, i);
+        }
+        for (; i < count; i++) {
+            dst.setAtIndex(JAVA_FLOAT, i, src.getAtIndex(JAVA_FLOAT, i) < threshold ? below : above);
+        }
+    }
+
+    @Override
+    public void pow(MemorySegment src, MemorySegment dst, int count, float exponent) {
+        final int bound = SPECIES.loopBound(count);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            store(load(src, i).lanewise(VectorOperators.POW, exponent), dst, i);
+        }
+        for (; i < count; i++) {
+            dst.setAtIndex(JAVA_FLOAT, i, (float) Math.pow(src.getAtIndex(JAVA_FLOAT, i), exponent));
+        }
+    }
+
+    @Override
+    public void lerp(float[] a, int aIndex, float[] b, int bIndex, float[] dst, int count, float t) {
+        final int bound = SPECIES.loopBound(count);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            final FloatVector from = FloatVector.fromArray(SPECIES, a, aIndex + i);
+            FloatVector.fromArray(SPECIES, b, bIndex + i).sub(from).mul(t).add(from).intoArray(dst, i);
+        }
+        for (; i < count; i++) {
+            final float from = a[aIndex + i];
+            dst[i] = from + (b[bIndex + i] - from) * t;
+        }
+    }
+
+    @Override
+    public void expand(float[] row, int[] cell, float[] t, MemorySegment dst, int dstIndex, int count) {
+        final int bound = SPECIES.loopBound(count);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            // Gathers the cell corners, offset 1 picks the right-hand corner of the same cells
+            final FloatVector from = FloatVector.fromArray(SPECIES, row, 0, cell, i);
+            final FloatVector to = FloatVector.fromArray(SPECIES, row, 1, cell, i);
+            store(to.sub(from).fma(FloatVector.fromArray(SPECIES, t, i), from), dst, dstIndex + i);
+        }
+        for (; i < count; i++) {
+            final float from = row[cell[i]];
+            dst.setAtIndex(JAVA_FLOAT, dstIndex + i, from + (row[cell[i] + 1] - from) * t[i]);
+        }
+    }
+}